@@ -29,6 +29,18 @@ fun initEventListeners() {
         VacanciesEntityManager.parseJsonToJobCartEntityList(VacanciesObject.vacanciesString)
     }
     window.addEventListener("vacanciesUpdated", vacanciesUpdatedListener)
+    val vacanciesResetListener: (Event) -> Unit = { event ->
+        VacanciesEntityManager.clear()
+    }
+    window.addEventListener("vacanciesReset", vacanciesResetListener)
+    val vacanciesAppendedListener: (Event) -> Unit = { event ->
+        VacanciesEntityManager.appendJsonToJobCartEntityList(VacanciesObject.appendedString)
+    }
+    window.addEventListener("vacanciesAppended", vacanciesAppendedListener)
+    val vacanciesDeltaListener: (Event) -> Unit = { event ->
+        VacanciesEntityManager.applyDeltaJson(VacanciesObject.deltaString)
+    }
+    window.addEventListener("vacanciesDelta", vacanciesDeltaListener)
 }
 
 @Composable
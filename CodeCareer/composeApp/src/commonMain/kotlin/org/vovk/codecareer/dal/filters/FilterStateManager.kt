@@ -10,6 +10,8 @@ import kotlin.collections.joinToString
 import kotlinx.serialization.json.Json
 
 external fun sendRequest(text: String) : String
+external fun streamRequest(text: String) : String
+external fun syncRequest(text: String) : String
 
 
 class FilterStateManager {
@@ -79,7 +81,7 @@ class FilterStateManager {
             val employments = filterDataEntity.employmentTypes.joinToString(separator = ",") { it.name.lowercase().replace(" ", "") }
             params["employment"] = employments
         }
-        sendRequest(Json.encodeToString(params))
+        syncRequest(Json.encodeToString(params))
     }
 
     fun clearAllFilters() {
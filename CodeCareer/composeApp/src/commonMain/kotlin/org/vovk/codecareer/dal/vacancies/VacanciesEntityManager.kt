@@ -7,11 +7,14 @@ import org.vovk.codecareer.dal.entities.JobCartEntity
 
 external object VacanciesObject : JsAny {
     var vacanciesString: String
+    var appendedString: String
+    var deltaString: String
     fun updateVacancies(newString: String)
 }
 
 @Serializable
 data class JobRaw(
+    val id: String = "",
     val jobTitle: String = "",
     val url: String = "",
     val company: String = "",
@@ -19,20 +22,114 @@ data class JobRaw(
     val companyImage: String = ""
 )
 
+// Response of format=columnar: one list per field, companies and logos as indexes into the dictionaries.
+@Serializable
+data class ColumnarJobs(
+    val count: Int = 0,
+    val id: List<String> = emptyList(),
+    val jobTitle: List<String?> = emptyList(),
+    val url: List<String?> = emptyList(),
+    val description: List<String?> = emptyList(),
+    val company: List<Int> = emptyList(),
+    val companyImage: List<Int> = emptyList(),
+    val companies: List<String> = emptyList(),
+    val companyImages: List<String> = emptyList()
+)
+
+// Response of /delta: changes since the cursor sent, or the whole list with reset set.
+// With format=columnar the added vacancies come as addedColumns instead of added.
+@Serializable
+data class JobsDelta(
+    val cursor: String = "",
+    val reset: Boolean = false,
+    val added: List<JobRaw> = emptyList(),
+    val addedColumns: ColumnarJobs? = null,
+    val changed: List<JobRaw> = emptyList(),
+    // By the id of the card shown: a streamed near-duplicate whose posting on another board now stands for the job.
+    val replaced: Map<String, JobRaw> = emptyMap(),
+    val removed: List<String> = emptyList()
+)
+
 object VacanciesEntityManager {
     private val _jobs = mutableStateListOf<JobCartEntity>()
+    private val json = Json { ignoreUnknownKeys = true }
+    // Server ids of the vacancies shown, to find the ones a delta removes.
+    private val urlsById = HashMap<String, String>()
     fun getVacancies(): List<JobCartEntity> = _jobs
 
     fun parseJsonToJobCartEntityList(json: String): List<JobCartEntity> {
+        urlsById.clear()
+        val jobList = decode(json)
+        _jobs.clear()
+        _jobs.addAll(jobList)
+        return jobList
+    }
+
+    // Adds a streamed batch to the current list, skipping vacancies already shown.
+    fun appendJsonToJobCartEntityList(json: String): List<JobCartEntity> {
+        val knownUrls = _jobs.map { it.jobUrl }.toHashSet()
+        val newJobs = decode(json).filter { knownUrls.add(it.jobUrl) }
+        _jobs.addAll(newJobs)
+        return newJobs
+    }
+
+    // Patches the list with a delta: removed vacancies go, changed and replaced ones are swapped in place, added ones are appended.
+    fun applyDeltaJson(jsonString: String): List<JobCartEntity> {
+        val delta = try {
+            json.decodeFromString<JobsDelta>(jsonString)
+        } catch (e: Exception) {
+            e.printStackTrace()
+            return _jobs
+        }
+        if (delta.reset) {
+            clear()
+        }
+        val removedUrls = delta.removed.mapNotNull { urlsById.remove(it) }.toHashSet()
+        if (removedUrls.isNotEmpty()) {
+            _jobs.removeAll { it.jobUrl in removedUrls }
+        }
+        val changed = decodeRows(delta.changed).associateBy { it.jobUrl }
+        for (i in _jobs.indices) {
+            changed[_jobs[i].jobUrl]?.let { _jobs[i] = it }
+        }
+        for ((id, raw) in delta.replaced) {
+            val oldUrl = urlsById.remove(id)
+            val job = decodeRows(listOf(raw)).first()
+            val i = _jobs.indexOfFirst { it.jobUrl == oldUrl }
+            if (i >= 0) {
+                _jobs[i] = job
+            } else {
+                _jobs.add(job)
+            }
+        }
+        val added = delta.addedColumns?.let { decodeColumnar(it) } ?: decodeRows(delta.added)
+        val knownUrls = _jobs.map { it.jobUrl }.toHashSet()
+        _jobs.addAll(added.filter { knownUrls.add(it.jobUrl) })
+        return _jobs
+    }
+
+    fun clear() {
+        _jobs.clear()
+        urlsById.clear()
+    }
+
+    private fun decode(jsonString: String): List<JobCartEntity> {
         // Decode the JSON string to a list of JobRaw objects.
         val jobRawList = try {
-            Json { ignoreUnknownKeys = true }.decodeFromString<List<JobRaw>>(json)
+            json.decodeFromString<List<JobRaw>>(jsonString)
         } catch (e: Exception) {
             e.printStackTrace()
             emptyList()
         }
+        return decodeRows(jobRawList)
+    }
+
+    private fun decodeRows(jobRawList: List<JobRaw>): List<JobCartEntity> {
         // Map the raw jobs to JobCartEntity instances.
-        val jobList = jobRawList.map {
+        return jobRawList.map {
+            if (it.id.isNotEmpty()) {
+                urlsById[it.id] = it.url
+            }
             JobCartEntity(
                 companyName = it.company,
                 companyImageUrl = it.companyImage,
@@ -41,8 +138,18 @@ object VacanciesEntityManager {
                 jobUrl = it.url
             )
         }
-        _jobs.clear()
-        _jobs.addAll(jobList)
-        return jobList
     }
-}
\ No newline at end of file
+
+    private fun decodeColumnar(columns: ColumnarJobs): List<JobCartEntity> {
+        return List(columns.count) { i ->
+            columns.id.getOrNull(i)?.let { urlsById[it] = columns.url[i] ?: "" }
+            JobCartEntity(
+                companyName = columns.companies[columns.company[i]],
+                companyImageUrl = columns.companyImages[columns.companyImage[i]],
+                jobName = columns.jobTitle[i] ?: "",
+                jobDescription = columns.description[i] ?: "",
+                jobUrl = columns.url[i] ?: ""
+            )
+        }
+    }
+}
@@ -1,24 +1,43 @@
 
 let VacanciesObject = {
     vacanciesString: "start",
+    appendedString: "",
+    deltaString: "",
     updateVacancies(newString){
         this.vacanciesString = newString;
         // Dispatch a custom event.
         const event = new CustomEvent("vacanciesUpdated", { detail: newString });
         window.dispatchEvent(event);
+    },
+    resetVacancies(){
+        this.vacanciesString = "[]";
+        window.dispatchEvent(new CustomEvent("vacanciesReset"));
+    },
+    appendVacancies(newString){
+        this.appendedString = newString;
+        window.dispatchEvent(new CustomEvent("vacanciesAppended", { detail: newString }));
+    },
+    applyDelta(newString){
+        this.deltaString = newString;
+        window.dispatchEvent(new CustomEvent("vacanciesDelta", { detail: newString }));
     }
 }
 
+// Filters and delta-sync cursor of the list currently shown.
+let syncState = { paramsJson: null, cursor: null };
+
+function buildRequestUrl(baseUrl, paramsJson) {
+    const paramsObj = JSON.parse(paramsJson);
+    const searchParams = new URLSearchParams();
+    for (const [key, value] of Object.entries(paramsObj)) {
+        searchParams.append(key, value);
+    }
+    return baseUrl + '?' + searchParams.toString();
+}
+
 async function sendRequest(paramsJson) {
     try {
-        const paramsObj = JSON.parse(paramsJson);
-        const baseUrl = 'http://localhost:3000/';
-
-        const searchParams = new URLSearchParams();
-        for (const [key, value] of Object.entries(paramsObj)) {
-            searchParams.append(key, value);
-        }
-        const url = baseUrl + '?' + searchParams.toString();
+        const url = buildRequestUrl('http://localhost:3000/', paramsJson);
 
         const response = await fetch(url);
         if (!response.ok) {
@@ -29,4 +48,71 @@ async function sendRequest(paramsJson) {
     } catch (error) {
         console.error('Error in sendRequest:', error);
     }
-}
\ No newline at end of file
+}
+
+// Reads the NDJSON stream of /stream and hands over each source's vacancies as soon as it arrives.
+async function streamRequest(paramsJson) {
+    try {
+        const url = buildRequestUrl('http://localhost:3000/stream', paramsJson);
+
+        const response = await fetch(url);
+        if (!response.ok) {
+            throw new Error(`HTTP error! status: ${response.status}`);
+        }
+        VacanciesObject.resetVacancies();
+        syncState = { paramsJson: paramsJson, cursor: null };
+
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffered = '';
+        while (true) {
+            const { value, done } = await reader.read();
+            if (done) {
+                break;
+            }
+            buffered += decoder.decode(value, { stream: true });
+            let newline;
+            while ((newline = buffered.indexOf('\n')) >= 0) {
+                const line = buffered.slice(0, newline).trim();
+                buffered = buffered.slice(newline + 1);
+                if (line) {
+                    handleStreamEvent(JSON.parse(line));
+                }
+            }
+        }
+    } catch (error) {
+        console.error('Error in streamRequest:', error);
+    }
+}
+
+function handleStreamEvent(event) {
+    if (event.type === 'vacancies') {
+        VacanciesObject.appendVacancies(JSON.stringify(event.vacancies));
+    } else if (event.type === 'summary') {
+        console.log(`Received ${event.total} vacancies in ${event.elapsedMs} ms`);
+        syncState.cursor = event.cursor || null;
+    }
+}
+
+// Brings the shown list up to date: for the filters it was loaded with, only the changes since are
+// fetched and patched in; for new filters the list is streamed again.
+async function syncRequest(paramsJson) {
+    if (syncState.paramsJson !== paramsJson || !syncState.cursor) {
+        return streamRequest(paramsJson);
+    }
+    try {
+        // columnar: a reset after the cursor expired carries the whole list, each company name and logo URL once
+        const url = buildRequestUrl('http://localhost:3000/delta', paramsJson)
+            + '&cursor=' + encodeURIComponent(syncState.cursor) + '&format=columnar';
+
+        const response = await fetch(url);
+        if (!response.ok) {
+            throw new Error(`HTTP error! status: ${response.status}`);
+        }
+        const response_text = await response.text();
+        syncState.cursor = JSON.parse(response_text).cursor;
+        VacanciesObject.applyDelta(response_text);
+    } catch (error) {
+        console.error('Error in syncRequest:', error);
+    }
+}
@@ -2,11 +2,24 @@ package com.my.jobsearcher;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+import java.security.Security;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class JobSearcherApplication {
 
+    /**
+     * How long resolved job-board addresses are reused, in seconds. The JVM reads it on its
+     * first lookup, so it is set before anything starts; {@code -Dsun.net.inetaddr.ttl} overrides it.
+     */
+    private static final String DNS_CACHE_TTL_SECONDS = "300";
+
     public static void main(String[] args) {
+        if (System.getProperty("sun.net.inetaddr.ttl") == null) {
+            Security.setProperty("networkaddress.cache.ttl", DNS_CACHE_TTL_SECONDS);
+        }
         SpringApplication.run(JobSearcherApplication.class, args);
     }
 
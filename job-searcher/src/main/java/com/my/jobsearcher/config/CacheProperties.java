@@ -0,0 +1,35 @@
+package com.my.jobsearcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.cache")
+public class CacheProperties {
+    /**
+     * Age after which an entry is still served but refreshed in the background.
+     */
+    private Duration refreshAfter = Duration.ofMinutes(5);
+
+    /**
+     * Age after which an entry is dropped and the next caller waits for a fresh fetch.
+     */
+    private Duration expireAfter = Duration.ofMinutes(30);
+
+    /**
+     * Lifetime of empty and failed results.
+     */
+    private Duration negativeTtl = Duration.ofMinutes(1);
+
+    /**
+     * Upper bound on the number of vacancy cards held across all entries.
+     */
+    private long maximumVacancies = 100_000;
+
+    /**
+     * How long a parsed page and its validators are kept to answer refreshes that find it unchanged.
+     */
+    private Duration pageTtl = Duration.ofHours(6);
+}
@@ -0,0 +1,18 @@
+package com.my.jobsearcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.dedup")
+public class DedupProperties {
+    /**
+     * Collapse postings of the same job on several boards into one result.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Largest number of differing SimHash bits for two vacancies to count as the same job.
+     */
+    private int maxDistance = 6;
+}
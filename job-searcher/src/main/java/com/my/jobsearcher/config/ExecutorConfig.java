@@ -0,0 +1,55 @@
+package com.my.jobsearcher.config;
+
+import com.my.jobsearcher.store.enums.Source;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableScheduling
+public class ExecutorConfig {
+
+    /**
+     * Bounded pool used to fan out upstream fetches. Virtual threads are still a preview
+     * feature on Java 20, so a fixed pool of platform threads is used instead.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService fetchExecutor(FanOutProperties properties) {
+        return Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("fetch-"));
+    }
+
+    /**
+     * Downloads the result pages after the first. Kept apart from {@link #fetchExecutor} because
+     * fetch tasks block on the pages they spawn.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService pageExecutor(PaginationProperties properties) {
+        return Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("page-"));
+    }
+
+    /**
+     * One thread per source, so each source is crawled sequentially at its own pace.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService ingestionExecutor() {
+        return Executors.newFixedThreadPool(Source.values().length, new CustomizableThreadFactory("ingestion-"));
+    }
+
+    /**
+     * CPU-bound pool the reactive pipeline parses pages on, sized to the processors so parsing
+     * never competes with the Netty event loop.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler parseScheduler(ReactiveProperties properties) {
+        int threads = properties.getParseThreads() > 0
+                ? properties.getParseThreads()
+                : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newParallel("parse", threads);
+    }
+}
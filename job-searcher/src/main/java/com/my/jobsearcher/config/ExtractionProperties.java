@@ -0,0 +1,14 @@
+package com.my.jobsearcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.extraction")
+public class ExtractionProperties {
+    /**
+     * Parse first result pages as a stream, keeping only the regions the parser reads and
+     * stopping once they are complete, instead of building the whole document.
+     */
+    private boolean streaming = true;
+}
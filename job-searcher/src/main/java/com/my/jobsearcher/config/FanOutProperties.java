@@ -0,0 +1,29 @@
+package com.my.jobsearcher.config;
+
+import com.my.jobsearcher.store.enums.Source;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.fan-out")
+public class FanOutProperties {
+    /**
+     * Upper bound of upstream fetches running at the same time.
+     */
+    private int threads = 32;
+
+    /**
+     * Deadline applied to a source that has no entry in {@link #deadlines}.
+     */
+    private Duration defaultDeadline = Duration.ofSeconds(10);
+
+    private Map<Source, Duration> deadlines = new EnumMap<>(Source.class);
+
+    public Duration deadlineFor(Source source) {
+        return deadlines.getOrDefault(source, defaultDeadline);
+    }
+}
@@ -0,0 +1,37 @@
+package com.my.jobsearcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.hedging")
+public class HedgingProperties {
+    private boolean enabled = false;
+
+    /**
+     * Hedged requests allowed per regular request, e.g. 0.05 for at most 5% extra upstream load.
+     */
+    private double budget = 0.05;
+
+    /**
+     * Latency percentile of a host after which a still running request is hedged.
+     */
+    private double percentile = 0.95;
+
+    /**
+     * Latencies kept per host to compute the percentile from.
+     */
+    private int window = 200;
+
+    /**
+     * Latencies recorded for a host before its requests are hedged at all.
+     */
+    private int minimumSamples = 20;
+
+    /**
+     * Lower bound of the hedging delay, so fast hosts are not hedged on jitter.
+     */
+    private Duration minimumDelay = Duration.ofMillis(100);
+}
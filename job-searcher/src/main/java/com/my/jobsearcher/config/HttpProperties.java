@@ -0,0 +1,30 @@
+package com.my.jobsearcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.http")
+public class HttpProperties {
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Longest wait for a response once the request is sent.
+     */
+    private Duration readTimeout = Duration.ofSeconds(15);
+
+    /**
+     * User-Agent header sent with every request to a job board; a desktop browser's, since the
+     * boards serve unknown clients differently.
+     */
+    private String userAgent = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) "
+            + "AppleWebKit/537.36 (KHTML, like Gecko) "
+            + "Chrome/110.0.0.0 Safari/537.36";
+
+    /**
+     * Whether a connection to every source is opened at startup.
+     */
+    private boolean warmUp = true;
+}
@@ -0,0 +1,35 @@
+package com.my.jobsearcher.config;
+
+import com.my.jobsearcher.store.enums.Source;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.ingestion")
+public class IngestionProperties {
+    /**
+     * Whether the background crawler runs at all. The crawl schedule itself is set by
+     * {@code searcher.ingestion.initial-delay} and {@code searcher.ingestion.interval}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Crawled results older than this are not served; requests fall back to live fetching.
+     */
+    private Duration maxAge = Duration.ofHours(2);
+
+    /**
+     * Pause between two fetches against the same source, for sources without an entry in {@link #delays}.
+     */
+    private Duration defaultDelay = Duration.ofSeconds(2);
+
+    private Map<Source, Duration> delays = new EnumMap<>(Source.class);
+
+    public Duration delayFor(Source source) {
+        return delays.getOrDefault(source, defaultDelay);
+    }
+}
@@ -0,0 +1,33 @@
+package com.my.jobsearcher.config;
+
+import com.my.jobsearcher.store.enums.Source;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.pagination")
+public class PaginationProperties {
+    /**
+     * Most result pages read per fetch key, the first one included.
+     */
+    private int maxPages = 5;
+
+    /**
+     * Threads downloading the pages after the first.
+     */
+    private int threads = 16;
+
+    /**
+     * Pages of a source downloaded at the same time when it has no entry in {@link #concurrency}.
+     */
+    private int defaultConcurrency = 2;
+
+    private Map<Source, Integer> concurrency = new EnumMap<>(Source.class);
+
+    public int concurrencyFor(Source source) {
+        return concurrency.getOrDefault(source, defaultConcurrency);
+    }
+}
@@ -0,0 +1,48 @@
+package com.my.jobsearcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.rate-limit")
+public class RateLimitProperties {
+    /**
+     * Limits of every host without an entry in {@link #hosts}.
+     */
+    private HostLimits defaults = new HostLimits();
+
+    /**
+     * Limits by host name, e.g. {@code searcher.rate-limit.hosts[www.linkedin.com].rate-per-second}.
+     */
+    private Map<String, HostLimits> hosts = new HashMap<>();
+
+    public HostLimits limitsFor(String host) {
+        return hosts.getOrDefault(host, defaults);
+    }
+
+    @Data
+    public static class HostLimits {
+        /**
+         * Sustained request rate the token bucket refills at.
+         */
+        private double ratePerSecond = 2;
+
+        /**
+         * Tokens the bucket holds, i.e. the largest burst sent after an idle period.
+         */
+        private int burst = 4;
+
+        private int initialConcurrency = 2;
+
+        /**
+         * Bounds of the adaptive concurrency limit, which grows by one per window of successful
+         * requests and halves when the host throttles.
+         */
+        private int minConcurrency = 1;
+
+        private int maxConcurrency = 8;
+    }
+}
@@ -0,0 +1,40 @@
+package com.my.jobsearcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.reactive")
+public class ReactiveProperties {
+    /**
+     * Size of the connection pool shared by every upstream host.
+     */
+    private int maxConnections = 64;
+
+    /**
+     * Requests allowed to wait for a pooled connection before new ones are rejected.
+     */
+    private int pendingAcquireMaxCount = 1024;
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    private Duration responseTimeout = Duration.ofSeconds(15);
+
+    /**
+     * Largest page body buffered for parsing.
+     */
+    private DataSize maxPageSize = DataSize.ofMegabytes(8);
+
+    /**
+     * Planned fetches of one search in flight at the same time.
+     */
+    private int concurrency = 8;
+
+    /**
+     * Threads parsing pages; {@code 0} uses one per available processor.
+     */
+    private int parseThreads = 0;
+}
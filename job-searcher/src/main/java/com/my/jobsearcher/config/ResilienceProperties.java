@@ -0,0 +1,59 @@
+package com.my.jobsearcher.config;
+
+import com.my.jobsearcher.store.enums.Source;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.resilience")
+public class ResilienceProperties {
+    /**
+     * Threads of the bulkhead of a source without an entry in {@link #threads}, scaled by the
+     * source's {@code searcher.registry} weight.
+     */
+    private int defaultThreads = 4;
+
+    private Map<Source, Integer> threads = new EnumMap<>(Source.class);
+
+    /**
+     * Loads waiting for a bulkhead thread before further ones are rejected.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Number of most recent calls the failure and slow-call rates are computed over.
+     */
+    private int windowSize = 20;
+
+    /**
+     * Calls recorded before the breaker may open at all.
+     */
+    private int minimumCalls = 5;
+
+    private double failureRateThreshold = 0.5;
+
+    private double slowCallRateThreshold = 0.5;
+
+    /**
+     * Calls running longer than this count as slow.
+     */
+    private Duration slowCallDuration = Duration.ofSeconds(8);
+
+    /**
+     * How long an open breaker rejects calls before letting trial calls through.
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * Trial calls of a half-open breaker; all of them have to succeed for it to close.
+     */
+    private int halfOpenCalls = 2;
+
+    public int threadsFor(Source source) {
+        return threads.getOrDefault(source, defaultThreads);
+    }
+}
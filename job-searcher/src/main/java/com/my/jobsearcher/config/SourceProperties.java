@@ -0,0 +1,45 @@
+package com.my.jobsearcher.config;
+
+import com.my.jobsearcher.store.enums.Source;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.registry")
+public class SourceProperties {
+    /**
+     * Settings of every source without an entry in {@link #sources}.
+     */
+    private SourceSettings defaults = new SourceSettings();
+
+    /**
+     * Settings by source, e.g. {@code searcher.registry.sources.linkedin.enabled}.
+     */
+    private Map<Source, SourceSettings> sources = new EnumMap<>(Source.class);
+
+    public SourceSettings settingsFor(Source source) {
+        return sources.getOrDefault(source, defaults);
+    }
+
+    @Data
+    public static class SourceSettings {
+        /**
+         * Whether the source is searched at startup; it can be switched at runtime afterwards.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Sources with a higher priority are planned and dispatched first.
+         */
+        private int priority = 0;
+
+        /**
+         * Size of the source's executor relative to {@code searcher.resilience.default-threads},
+         * used unless {@code searcher.resilience.threads} names the source.
+         */
+        private double weight = 1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.my.jobsearcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.store")
+public class StoreProperties {
+    private Path directory = Path.of("data", "vacancies");
+
+    /**
+     * Size every segment file is preallocated and mapped with.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Most queued writes forced to disk together in one group commit.
+     */
+    private int maxBatch = 256;
+
+    /**
+     * Sealed segments with a smaller share of live bytes are rewritten by compaction.
+     */
+    private double compactionThreshold = 0.5;
+}
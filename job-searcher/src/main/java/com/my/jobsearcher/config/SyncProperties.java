@@ -0,0 +1,21 @@
+package com.my.jobsearcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "searcher.sync")
+public class SyncProperties {
+    /**
+     * Upper bound on the number of result snapshots kept for delta-sync cursors.
+     */
+    private long maximumCursors = 10_000;
+
+    /**
+     * How long a cursor stays usable after it was last handed out or used; an expired cursor gets
+     * the full result again.
+     */
+    private Duration cursorTtl = Duration.ofHours(1);
+}
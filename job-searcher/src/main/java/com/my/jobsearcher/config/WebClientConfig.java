@@ -0,0 +1,47 @@
+package com.my.jobsearcher.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+public class WebClientConfig {
+
+    /**
+     * Pool of keep-alive connections to the job boards, shared by every reactive fetch.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider scraperConnectionProvider(ReactiveProperties properties) {
+        return ConnectionProvider.builder("scraper")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .build();
+    }
+
+    /**
+     * Non-blocking client used to download pages: requests run on the Netty event loop, so a
+     * search waiting on a slow source holds no thread.
+     */
+    @Bean
+    public WebClient scraperWebClient(WebClient.Builder builder,
+                                      ConnectionProvider scraperConnectionProvider,
+                                      ReactiveProperties properties,
+                                      HttpProperties httpProperties) {
+        HttpClient httpClient = HttpClient.create(scraperConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout())
+                .followRedirect(true)
+                .compress(true);
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.USER_AGENT, httpProperties.getUserAgent())
+                .codecs(codecs -> codecs.defaultCodecs()
+                        .maxInMemorySize((int) properties.getMaxPageSize().toBytes()))
+                .build();
+    }
+}
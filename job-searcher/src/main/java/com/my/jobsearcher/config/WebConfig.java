@@ -0,0 +1,28 @@
+package com.my.jobsearcher.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Lets Smile refer back to short values written before, so company names and logo URLs
+     * repeated across a response are sent once.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2SmileHttpMessageConverter smile
+                    && smile.getObjectMapper().getFactory() instanceof SmileFactory factory) {
+                factory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.my.jobsearcher.store.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vacancies as parallel arrays, one per field, the i-th entry of each belonging to the i-th
+ * vacancy. Company names and logo URLs repeat across many vacancies, so their arrays hold indexes
+ * into the {@link #companies} and {@link #companyImages} dictionaries instead of the values.
+ */
+@Builder
+@Data
+public class ColumnarVacanciesDto {
+    private final String format = "columnar";
+    private int count;
+    private List<String> id;
+    private List<String> jobTitle;
+    private List<String> url;
+    private List<String> description;
+    private int[] company;
+    private int[] companyImage;
+    private List<String> companies;
+    private List<String> companyImages;
+
+    /**
+     * {@code null} when no vacancy was collapsed from near-duplicates, otherwise one entry per
+     * vacancy, {@code null} for those that were not.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<List<String>> sourceUrls;
+
+    public static ColumnarVacanciesDto of(Collection<ResponseDto> vacancies) {
+        int count = vacancies.size();
+        List<String> ids = new ArrayList<>(count);
+        List<String> jobTitles = new ArrayList<>(count);
+        List<String> urls = new ArrayList<>(count);
+        List<String> descriptions = new ArrayList<>(count);
+        List<List<String>> sourceUrls = new ArrayList<>(count);
+        int[] company = new int[count];
+        int[] companyImage = new int[count];
+        Dictionary companies = new Dictionary();
+        Dictionary companyImages = new Dictionary();
+        boolean collapsed = false;
+
+        int i = 0;
+        for (ResponseDto vacancy : vacancies) {
+            ids.add(Long.toString(vacancy.getId()));
+            jobTitles.add(vacancy.getJobTitle());
+            urls.add(vacancy.getUrl());
+            descriptions.add(vacancy.getDescription());
+            sourceUrls.add(vacancy.getSourceUrls());
+            collapsed |= vacancy.getSourceUrls() != null;
+            company[i] = companies.indexOf(vacancy.getCompany());
+            companyImage[i] = companyImages.indexOf(vacancy.getCompanyImage());
+            i++;
+        }
+        return ColumnarVacanciesDto.builder()
+                .count(count)
+                .id(ids)
+                .jobTitle(jobTitles)
+                .url(urls)
+                .description(descriptions)
+                .company(company)
+                .companyImage(companyImage)
+                .companies(companies.values)
+                .companyImages(companyImages.values)
+                .sourceUrls(collapsed ? sourceUrls : null)
+                .build();
+    }
+
+    private static class Dictionary {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int indexOf(String value) {
+            String key = value == null ? "" : value;
+            return indexes.computeIfAbsent(key, k -> {
+                values.add(k);
+                return values.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.my.jobsearcher.store.dto;
+
+import com.my.jobsearcher.store.enums.Source;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Builder
+@Data
+public class IngestionStatusDto {
+    private Source source;
+    private boolean running;
+    private int plannedFetches;
+    private int completedFetches;
+    private int failedFetches;
+    private Instant lastStartedAt;
+    private Instant lastCompletedAt;
+    private Instant lastSuccessfulRefresh;
+}
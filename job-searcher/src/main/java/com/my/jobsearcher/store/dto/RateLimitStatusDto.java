@@ -0,0 +1,19 @@
+package com.my.jobsearcher.store.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class RateLimitStatusDto {
+    private String host;
+    private double ratePerSecond;
+    private int burst;
+    private double availableTokens;
+    private double concurrencyLimit;
+    private int inFlight;
+    private int waiting;
+    private long succeeded;
+    private long throttled;
+    private long failed;
+}
@@ -1,16 +1,92 @@
 package com.my.jobsearcher.store.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.my.jobsearcher.store.index.Hashing;
 import lombok.Builder;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.ToString;
 
-@Builder
-@Data
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A vacancy card. Vacancies are identified by {@link #id}, a 64-bit hash of the canonical URL the
+ * parser produced, so the same posting is equal however often and wherever it was read; whether
+ * its content changed is a separate question answered by {@link #sameContent}. Cards are immutable,
+ * so the id is computed once from the fields it depends on, however the card was built or read.
+ */
+@Getter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString
 public class ResponseDto {
-    private String jobTitle;
-    private String url;
-    private String company;
-    private String description;
-    private String companyImage;
+    @EqualsAndHashCode.Include
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    // as a string, since JavaScript numbers lose the low bits of a 64-bit value
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private final long id;
+    private final String jobTitle;
+    private final String url;
+    private final String company;
+    private final String description;
+    private final String companyImage;
+
+    /**
+     * URLs of every posting of this job when near-duplicates from several boards were collapsed
+     * into this one, {@link #url} included; {@code null} otherwise.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final List<String> sourceUrls;
+
+    /**
+     * Cards without a URL are identified by title and company instead.
+     */
+    @Builder
+    @JsonCreator
+    public ResponseDto(@JsonProperty("jobTitle") String jobTitle,
+                       @JsonProperty("url") String url,
+                       @JsonProperty("company") String company,
+                       @JsonProperty("description") String description,
+                       @JsonProperty("companyImage") String companyImage,
+                       @JsonProperty("sourceUrls") List<String> sourceUrls) {
+        this.id = idOf(url, jobTitle, company);
+        this.jobTitle = jobTitle;
+        this.url = url;
+        this.company = company;
+        this.description = description;
+        this.companyImage = companyImage;
+        this.sourceUrls = sourceUrls;
+    }
+
+    /**
+     * Id of a card with the given URL, or of the given title and company when it has none.
+     */
+    public static long idOf(String url, String jobTitle, String company) {
+        return Hashing.hash64(url == null || url.isEmpty() ? jobTitle + "|" + company : url);
+    }
+
+    /**
+     * Whether every field of the two cards is the same, not only their identity.
+     */
+    public boolean sameContent(ResponseDto other) {
+        return id == other.id
+                && Objects.equals(url, other.url)
+                && Objects.equals(jobTitle, other.jobTitle)
+                && Objects.equals(company, other.company)
+                && Objects.equals(description, other.description)
+                && Objects.equals(companyImage, other.companyImage)
+                && Objects.equals(sourceUrls, other.sourceUrls);
+    }
+
+    /**
+     * Hash of every field, to tell later whether the card changed without keeping a copy of it.
+     */
+    public long contentHash() {
+        return Hashing.hash64(String.join("\u0000", String.valueOf(url), String.valueOf(jobTitle),
+                String.valueOf(company), String.valueOf(description), String.valueOf(companyImage),
+                String.valueOf(sourceUrls)));
+    }
 }
@@ -0,0 +1,15 @@
+package com.my.jobsearcher.store.dto;
+
+import com.my.jobsearcher.store.enums.Source;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class SourceBatchDto {
+    private final String type = "vacancies";
+    private Source source;
+    private List<ResponseDto> vacancies;
+}
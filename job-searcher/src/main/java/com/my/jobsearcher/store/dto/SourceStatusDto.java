@@ -0,0 +1,17 @@
+package com.my.jobsearcher.store.dto;
+
+import com.my.jobsearcher.store.enums.Source;
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class SourceStatusDto {
+    private Source source;
+    private boolean enabled;
+    private int priority;
+    private double weight;
+    private int threads;
+    private int activeLoads;
+    private int queuedLoads;
+}
@@ -0,0 +1,32 @@
+package com.my.jobsearcher.store.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.my.jobsearcher.store.enums.Source;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class StreamSummaryDto {
+    private final String type = "summary";
+    private int total;
+    private List<Source> incompleteSources;
+    private long elapsedMs;
+
+    /**
+     * Delta-sync cursor of the vacancies sent, for a follow-up call to {@code /delta}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String cursor;
+
+    /**
+     * Every vacancy sent in the batches, the cards the client holds, which the cursor is taken
+     * from. Where a later batch had a near-duplicate of one, {@code /delta} replaces it with the
+     * collapsed card.
+     */
+    @JsonIgnore
+    private List<ResponseDto> vacancies;
+}
@@ -0,0 +1,40 @@
+package com.my.jobsearcher.store.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes of a result since the snapshot behind a cursor. With {@link #reset} set, the cursor was
+ * unknown or taken with other filters, and {@link #added} holds the whole result to replace the
+ * client's list with.
+ */
+@Builder
+@Data
+public class VacancyDeltaDto {
+    /**
+     * Cursor of the result as it is now, to send with the next call.
+     */
+    private String cursor;
+    private boolean reset;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ResponseDto> added;
+
+    /**
+     * The added vacancies in the columnar layout, in place of {@link #added}, when the delta was
+     * asked for with {@code format=columnar}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ColumnarVacanciesDto addedColumns;
+    private List<ResponseDto> changed;
+
+    /**
+     * Vacancies taking the place of one the client holds under another id, by that id: a streamed
+     * near-duplicate whose posting on another board now stands for the job.
+     */
+    private Map<String, ResponseDto> replaced;
+    private List<String> removed;
+}
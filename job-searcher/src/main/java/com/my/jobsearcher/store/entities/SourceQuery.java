@@ -0,0 +1,9 @@
+package com.my.jobsearcher.store.entities;
+
+import com.my.jobsearcher.store.enums.Source;
+
+/**
+ * A canonical request as answered by one source.
+ */
+public record SourceQuery(Source source, VacancyRequest request) {
+}
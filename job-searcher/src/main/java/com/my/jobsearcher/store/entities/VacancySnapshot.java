@@ -0,0 +1,12 @@
+package com.my.jobsearcher.store.entities;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Vacancies a source returned for one canonical request, as of {@code fetchedAt}.
+ */
+public record VacancySnapshot(List<ResponseDto> vacancies, Instant fetchedAt) {
+}
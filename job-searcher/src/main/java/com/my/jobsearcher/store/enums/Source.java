@@ -0,0 +1,7 @@
+package com.my.jobsearcher.store.enums;
+
+public enum Source {
+    DJINNI,
+    DOU,
+    LINKEDIN
+}
@@ -0,0 +1,22 @@
+package com.my.jobsearcher.store.index;
+
+/**
+ * 64-bit string hashing: FNV-1a followed by the SplitMix64 finalizer, so that strings differing
+ * in a single character still differ in about half of the bits.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    public static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
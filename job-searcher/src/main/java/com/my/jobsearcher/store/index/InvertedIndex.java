@@ -0,0 +1,48 @@
+package com.my.jobsearcher.store.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Term to posting list map. Not thread-safe; {@link VacancyIndex} guards it.
+ */
+final class InvertedIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    void add(int docId, Collection<String> terms) {
+        for (String term : terms) {
+            postings.computeIfAbsent(term, key -> new PostingList()).add(docId);
+        }
+    }
+
+    /**
+     * Ids of the documents containing every term, in ascending order.
+     */
+    int[] search(List<String> terms) {
+        if (terms.isEmpty()) {
+            return EMPTY;
+        }
+        PostingList[] lists = new PostingList[terms.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(terms.get(i));
+            if (lists[i] == null) {
+                return EMPTY;
+            }
+        }
+        // Intersect starting from the rarest term so every step probes the fewest candidates.
+        Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+
+        int[] result = lists[0].toArray();
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = lists[i].retainAll(result);
+        }
+        return result;
+    }
+}
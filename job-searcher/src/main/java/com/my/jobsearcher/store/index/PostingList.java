@@ -0,0 +1,55 @@
+package com.my.jobsearcher.store.index;
+
+import java.util.Arrays;
+
+/**
+ * Ascending document ids of one term, kept in a growable primitive array.
+ */
+final class PostingList {
+
+    private int[] docIds = new int[4];
+    private int size;
+
+    /**
+     * Ids are assigned in increasing order, so appending keeps the list sorted.
+     */
+    void add(int docId) {
+        if (size > 0 && docIds[size - 1] == docId) {
+            return;
+        }
+        if (size == docIds.length) {
+            docIds = Arrays.copyOf(docIds, size * 2);
+        }
+        docIds[size++] = docId;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(docIds, size);
+    }
+
+    /**
+     * Keeps the ids of {@code candidates} present in this list; both sides are sorted.
+     */
+    int[] retainAll(int[] candidates) {
+        int[] result = new int[Math.min(candidates.length, size)];
+        int count = 0;
+        int from = 0;
+        for (int candidate : candidates) {
+            int found = Arrays.binarySearch(docIds, from, size, candidate);
+            if (found >= 0) {
+                result[count++] = candidate;
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+            if (from >= size) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,60 @@
+package com.my.jobsearcher.store.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits Ukrainian and English text into lower-case terms.
+ * <p>
+ * Letters and digits of any script form words. Apostrophes inside a word are dropped so that
+ * "м'який", "м’який" and "мякий" meet, and the trailing {@code +}/{@code #} of names like C++ and C#
+ * as well as a leading or inner dot (.NET, Node.js) are kept as part of the term.
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder token = new StringBuilder();
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (isApostrophe(c) && !token.isEmpty() && i + 1 < length && Character.isLetter(text.charAt(i + 1))) {
+                // part of the word, e.g. "об'єкт"
+            } else if (c == '.' && i + 1 < length && Character.isLetter(text.charAt(i + 1))
+                    && (token.isEmpty() || Character.isLetter(token.charAt(token.length() - 1)))) {
+                token.append(c);
+            } else if ((c == '+' || c == '#') && !token.isEmpty() && Character.isLetter(token.charAt(token.length() - 1))) {
+                token.append(c);
+                while (i + 1 < length && text.charAt(i + 1) == c) {
+                    token.append(c);
+                    i++;
+                }
+                flush(token, tokens);
+            } else {
+                flush(token, tokens);
+            }
+        }
+        flush(token, tokens);
+        return tokens;
+    }
+
+    private static boolean isApostrophe(char c) {
+        return c == '\'' || c == '’' || c == 'ʼ' || c == '`';
+    }
+
+    private static void flush(StringBuilder token, List<String> tokens) {
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+            token.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.my.jobsearcher.store.index;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.entities.SourceQuery;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Full-text index over the vacancies the sources currently return.
+ * Each vacancy gets a dense document id; a vacancy whose content changes is indexed again under
+ * a new id and the old one is marked dead, so posting lists only ever grow at the tail.
+ * Every (source, canonical request) keeps one compressed bitmap of the documents it returned last
+ * time, replaced on each fetch, so a filter resolves to exactly the vacancies the live fetch would
+ * return, and a vacancy no query returns anymore drops out. Once dead documents outnumber live
+ * ones, the index is rebuilt over the live ones.
+ * <p>
+ * Every change to the index advances its {@link #version()}, so results read at the same version
+ * are the same results.
+ */
+@Component
+public class VacancyIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex invertedIndex = new InvertedIndex();
+    private final List<ResponseDto> documents = new ArrayList<>();
+    private final Map<Long, Integer> docIdsByVacancy = new HashMap<>();
+    private final RoaringBitmap dead = new RoaringBitmap();
+    private final Map<SourceQuery, RoaringBitmap> members = new HashMap<>();
+    // starts at the startup time so that no version of an earlier run is handed out again
+    private volatile long version = System.currentTimeMillis();
+
+    /**
+     * Records the cards as everything {@code query} returns now: new and changed cards are added,
+     * cards it no longer returns are left out of it, and dropped from the index when no other
+     * query returns them either.
+     */
+    public void index(SourceQuery query, Collection<ResponseDto> vacancies) {
+        List<ResponseDto> changed = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap current = members.get(query);
+            RoaringBitmap unchanged = new RoaringBitmap();
+            for (ResponseDto vacancy : vacancies) {
+                Integer docId = docIdsByVacancy.get(vacancy.getId());
+                if (docId == null || !documents.get(docId).sameContent(vacancy)) {
+                    changed.add(vacancy);
+                } else {
+                    unchanged.add(docId);
+                }
+            }
+            if (changed.isEmpty() && unchanged.equals(current)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Set<String>> terms = changed.stream().map(VacancyIndex::terms).toList();
+        lock.writeLock().lock();
+        try {
+            Map<Long, Set<String>> termsByVacancy = new HashMap<>();
+            for (int i = 0; i < changed.size(); i++) {
+                termsByVacancy.put(changed.get(i).getId(), terms.get(i));
+            }
+            RoaringBitmap membership = new RoaringBitmap();
+            for (ResponseDto vacancy : vacancies) {
+                Integer previous = docIdsByVacancy.get(vacancy.getId());
+                if (previous != null && documents.get(previous).sameContent(vacancy)) {
+                    membership.add(previous);
+                    continue;
+                }
+                int docId = documents.size();
+                documents.add(vacancy);
+                docIdsByVacancy.put(vacancy.getId(), docId);
+                invertedIndex.add(docId, termsByVacancy.computeIfAbsent(vacancy.getId(), id -> terms(vacancy)));
+                membership.add(docId);
+                if (previous != null) {
+                    // other queries returning the vacancy see its new content too
+                    kill(previous);
+                    members.values().forEach(bitmap -> {
+                        if (bitmap.contains(previous)) {
+                            bitmap.remove(previous);
+                            bitmap.add(docId);
+                        }
+                    });
+                }
+            }
+
+            RoaringBitmap dropped = members.getOrDefault(query, new RoaringBitmap());
+            members.put(query, membership);
+            dropped.andNot(membership);
+            dropped.forEach((int docId) -> {
+                if (members.values().stream().noneMatch(bitmap -> bitmap.contains(docId))) {
+                    docIdsByVacancy.remove(documents.get(docId).getId());
+                    kill(docId);
+                }
+            });
+            if (dead.getCardinality() > documents.size() / 2) {
+                purge();
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Advances whenever a card is added, changed or dropped, or a query returns other cards.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Vacancies any of the given queries returned on its last fetch. A non-blank {@code query}
+     * additionally requires every term.
+     */
+    public List<ResponseDto> query(Collection<SourceQuery> queries, String query) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = RoaringBitmap.or(queries.stream()
+                    .map(members::get)
+                    .filter(bitmap -> bitmap != null)
+                    .iterator());
+            if (query != null && !query.isBlank()) {
+                matches.and(RoaringBitmap.bitmapOf(invertedIndex.search(terms(query))));
+            }
+
+            List<ResponseDto> vacancies = new ArrayList<>(matches.getCardinality());
+            matches.forEach((int docId) -> vacancies.add(documents.get(docId)));
+            return vacancies;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vacancies containing every term of the query.
+     */
+    public List<ResponseDto> search(String query) {
+        List<String> terms = terms(query);
+        lock.readLock().lock();
+        try {
+            int[] docIds = invertedIndex.search(terms);
+            List<ResponseDto> matches = new ArrayList<>(docIds.length);
+            for (int docId : docIds) {
+                if (!dead.contains(docId)) {
+                    matches.add(documents.get(docId));
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tests whether a vacancy contains every term of the query, by the same tokenization as
+     * {@link #search} but without looking anything up, for vacancies that need not be indexed,
+     * e.g. a last-known-good snapshot read back from the store.
+     */
+    public static Predicate<ResponseDto> matcher(String query) {
+        List<String> queryTerms = terms(query);
+        return vacancy -> terms(vacancy).containsAll(queryTerms);
+    }
+
+    /**
+     * Number of document ids in use, dead ones included.
+     */
+    int documentIds() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void kill(int docId) {
+        dead.add(docId);
+        // the card is unreachable now, let it be collected before the next purge
+        documents.set(docId, null);
+    }
+
+    /**
+     * Renumbers the live documents densely and rebuilds the postings and memberships over them.
+     */
+    private void purge() {
+        int[] renumbered = new int[documents.size()];
+        List<ResponseDto> live = new ArrayList<>(documents.size() - dead.getCardinality());
+        InvertedIndex rebuilt = new InvertedIndex();
+        for (int docId = 0; docId < documents.size(); docId++) {
+            ResponseDto vacancy = documents.get(docId);
+            if (vacancy == null) {
+                renumbered[docId] = -1;
+                continue;
+            }
+            renumbered[docId] = live.size();
+            rebuilt.add(live.size(), terms(vacancy));
+            docIdsByVacancy.put(vacancy.getId(), live.size());
+            live.add(vacancy);
+        }
+        members.replaceAll((query, bitmap) -> {
+            RoaringBitmap remapped = new RoaringBitmap();
+            bitmap.forEach((int docId) -> remapped.add(renumbered[docId]));
+            return remapped;
+        });
+        documents.clear();
+        documents.addAll(live);
+        dead.clear();
+        invertedIndex = rebuilt;
+    }
+
+    private static List<String> terms(String query) {
+        return List.copyOf(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+    }
+
+    private static Set<String> terms(ResponseDto vacancy) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.addAll(Tokenizer.tokenize(vacancy.getJobTitle()));
+        terms.addAll(Tokenizer.tokenize(vacancy.getCompany()));
+        terms.addAll(Tokenizer.tokenize(vacancy.getDescription()));
+        return terms;
+    }
+}
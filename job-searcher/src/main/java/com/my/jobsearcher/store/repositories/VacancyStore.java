@@ -0,0 +1,212 @@
+package com.my.jobsearcher.store.repositories;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.jobsearcher.config.StoreProperties;
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.entities.SourceQuery;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.entities.VacancySnapshot;
+import com.my.jobsearcher.store.segments.SegmentStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Latest crawled vacancies per (source, canonical request), persisted in a {@link SegmentStore}.
+ * Every vacancy is stored once under its id; a snapshot record lists the ids a query returned.
+ * <p>
+ * The ids of every snapshot are counted, and a vacancy is deleted as soon as no snapshot lists
+ * it anymore, so expired postings are reclaimed by compaction instead of piling up.
+ */
+@Slf4j
+@Repository
+public class VacancyStore {
+
+    private static final String VACANCY_PREFIX = "v:";
+    private static final String SNAPSHOT_PREFIX = "q:";
+
+    private final SegmentStore segmentStore;
+    private final ObjectMapper objectMapper;
+    private final StoreProperties properties;
+    // guarded by this
+    private final Map<String, Set<Long>> idsBySnapshot = new HashMap<>();
+    private final Map<Long, Integer> references = new HashMap<>();
+
+    private record StoredSnapshot(long fetchedAt, List<Long> ids) {
+    }
+
+    public VacancyStore(StoreProperties properties, ObjectMapper objectMapper) throws IOException {
+        this.segmentStore = new SegmentStore(properties.getDirectory(),
+                properties.getSegmentSize().toBytes(),
+                properties.getMaxBatch());
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        countReferences();
+    }
+
+    /**
+     * Records a snapshot, replacing the previous one of the query. Vacancies whose stored bytes are
+     * unchanged are not rewritten; vacancies no snapshot lists anymore are deleted.
+     */
+    public void put(SourceQuery query, List<ResponseDto> vacancies) {
+        List<SegmentStore.Entry> entries = new ArrayList<>();
+        List<Long> ids = new ArrayList<>(vacancies.size());
+        List<byte[]> values = new ArrayList<>(vacancies.size());
+        for (ResponseDto vacancy : vacancies) {
+            ids.add(vacancy.getId());
+            values.add(toBytes(vacancy));
+        }
+        String snapshotKey = snapshotKey(query);
+        byte[] snapshot = toBytes(new StoredSnapshot(Instant.now().toEpochMilli(), ids));
+
+        CompletableFuture<Void> written;
+        // the writer applies batches in queue order, so deciding and enqueueing under one lock keeps
+        // a deletion from overtaking a snapshot that lists the vacancy again
+        synchronized (this) {
+            for (int i = 0; i < ids.size(); i++) {
+                String key = vacancyKey(ids.get(i));
+                // an unreferenced vacancy may have a deletion queued, so it is always rewritten
+                if (!references.containsKey(ids.get(i)) || !Arrays.equals(values.get(i), segmentStore.get(key))) {
+                    entries.add(new SegmentStore.Entry(key, values.get(i)));
+                }
+            }
+            entries.add(new SegmentStore.Entry(snapshotKey, snapshot));
+            for (long expired : replaceReferences(snapshotKey, ids)) {
+                entries.add(new SegmentStore.Entry(vacancyKey(expired), null));
+            }
+            written = segmentStore.write(entries);
+        }
+
+        written.whenComplete((ignored, e) -> {
+            if (e != null) {
+                log.error("Failed to persist snapshot of {}", query, e);
+            }
+        });
+    }
+
+    public Optional<VacancySnapshot> get(SourceQuery query) {
+        byte[] stored = segmentStore.get(snapshotKey(query));
+        if (stored == null) {
+            return Optional.empty();
+        }
+        StoredSnapshot snapshot = fromBytes(stored, StoredSnapshot.class);
+        if (snapshot.ids() == null) {
+            // written before vacancies had ids; the next fetch replaces it
+            return Optional.empty();
+        }
+        List<ResponseDto> vacancies = new ArrayList<>(snapshot.ids().size());
+        for (long id : snapshot.ids()) {
+            byte[] vacancy = segmentStore.get(vacancyKey(id));
+            if (vacancy != null) {
+                vacancies.add(fromBytes(vacancy, ResponseDto.class));
+            }
+        }
+        return Optional.of(new VacancySnapshot(vacancies, Instant.ofEpochMilli(snapshot.fetchedAt())));
+    }
+
+    @Scheduled(fixedDelayString = "${searcher.store.compaction-interval:PT10M}")
+    public void compact() {
+        int compacted = segmentStore.compact(properties.getCompactionThreshold());
+        if (compacted > 0) {
+            log.info("Compacted {} segments, {} left holding {} keys",
+                    compacted, segmentStore.segmentCount(), segmentStore.size());
+        }
+    }
+
+    /**
+     * Number of vacancies stored, whether or not a snapshot lists them.
+     */
+    int storedVacancies() {
+        return segmentStore.keys(VACANCY_PREFIX).size();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        segmentStore.close();
+    }
+
+    /**
+     * Counts the ids of every stored snapshot and deletes the vacancies none of them lists, e.g.
+     * those left behind by a version that never deleted any.
+     */
+    private void countReferences() {
+        for (String key : segmentStore.keys(SNAPSHOT_PREFIX)) {
+            byte[] stored = segmentStore.get(key);
+            List<Long> ids = stored == null ? null : fromBytes(stored, StoredSnapshot.class).ids();
+            if (ids != null) {
+                replaceReferences(key, ids);
+            }
+        }
+        List<SegmentStore.Entry> orphans = new ArrayList<>();
+        for (String key : segmentStore.keys(VACANCY_PREFIX)) {
+            long id = Long.parseUnsignedLong(key.substring(VACANCY_PREFIX.length()), 16);
+            if (!references.containsKey(id)) {
+                orphans.add(new SegmentStore.Entry(key, null));
+            }
+        }
+        if (!orphans.isEmpty()) {
+            log.info("Deleting {} vacancies no snapshot lists", orphans.size());
+            segmentStore.write(orphans);
+        }
+    }
+
+    /**
+     * Makes {@code ids} the snapshot's references and returns the ids nothing references anymore.
+     */
+    private List<Long> replaceReferences(String snapshotKey, List<Long> ids) {
+        Set<Long> current = new HashSet<>(ids);
+        Set<Long> previous = idsBySnapshot.put(snapshotKey, current);
+        current.forEach(id -> references.merge(id, 1, Integer::sum));
+        List<Long> expired = new ArrayList<>();
+        if (previous != null) {
+            for (long id : previous) {
+                if (references.merge(id, -1, Integer::sum) == 0) {
+                    references.remove(id);
+                    expired.add(id);
+                }
+            }
+        }
+        return expired;
+    }
+
+    private static String vacancyKey(long id) {
+        return VACANCY_PREFIX + Long.toHexString(id);
+    }
+
+    private static String snapshotKey(SourceQuery query) {
+        VacancyRequest request = query.request();
+        return SNAPSHOT_PREFIX + query.source() + "|" + request.getLang().name()
+                + "|" + request.getExp() + "|" + request.getEmp();
+    }
+
+    private byte[] toBytes(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T fromBytes(byte[] bytes, Class<T> type) {
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.my.jobsearcher.store.segments;
+
+/**
+ * Location of a record inside a segment file; {@code length} covers header, key and value.
+ */
+record RecordPointer(int segmentId, int offset, int length, int keyLength) {
+}
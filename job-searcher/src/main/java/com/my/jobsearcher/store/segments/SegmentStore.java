@@ -0,0 +1,402 @@
+package com.my.jobsearcher.store.segments;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded key-value store made of append-only, memory-mapped segment files.
+ * <p>
+ * Every record is {@code [crc32][keyLength][valueLength][key][value]}; a value length of -1 marks a
+ * deletion. A single writer thread appends queued writes in batches and forces each batch to disk
+ * once (group commit) before acknowledging it. The key directory lives on the heap and points into
+ * the mapped segments, so reads are one map lookup plus one copy out of the page cache.
+ * Superseded records are reclaimed by {@link #compact(double)}, and on startup the key directory is
+ * rebuilt by scanning the segments up to the first torn or zeroed record.
+ */
+@Slf4j
+public class SegmentStore implements Closeable {
+
+    private static final int HEADER_SIZE = 12;
+    private static final int TOMBSTONE = -1;
+    private static final Pattern FILE_NAME = Pattern.compile("segment-(\\d+)\\.log");
+    private static final WriteOp SHUTDOWN = new WriteOp(List.of(), null, new CompletableFuture<>());
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int maxBatch;
+    private final ConcurrentMap<String, RecordPointer> index = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final BlockingQueue<WriteOp> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile Segment active;
+    private volatile boolean closed;
+
+    /**
+     * @param value {@code null} deletes the key
+     */
+    public record Entry(String key, byte[] value) {
+    }
+
+    /**
+     * @param expected for compaction moves, the pointer each entry may replace; {@code null} for plain writes
+     */
+    private record WriteOp(List<Entry> entries, List<RecordPointer> expected, CompletableFuture<Void> done) {
+    }
+
+    public SegmentStore(Path directory, long segmentSize, int maxBatch) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxBatch = maxBatch;
+        Files.createDirectories(directory);
+
+        long started = System.nanoTime();
+        recover();
+        log.info("Recovered {} keys from {} segments in {} ms",
+                index.size(), segments.size(), (System.nanoTime() - started) / 1_000_000);
+
+        this.writer = new Thread(this::writeLoop, "segment-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public byte[] get(String key) {
+        while (true) {
+            RecordPointer pointer = index.get(key);
+            if (pointer == null) {
+                return null;
+            }
+            Segment segment = segments.get(pointer.segmentId());
+            if (segment == null) {
+                // The segment was compacted away after the lookup; the key now points elsewhere.
+                if (index.get(key) == pointer) {
+                    return null;
+                }
+                continue;
+            }
+            int valueOffset = pointer.offset() + HEADER_SIZE + pointer.keyLength();
+            return segment.read(valueOffset, pointer.length() - HEADER_SIZE - pointer.keyLength());
+        }
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Appends the entries in order as part of the next group commit. The returned future completes
+     * once they are forced to disk; they are visible to {@link #get(String)} as soon as they are written.
+     */
+    public CompletableFuture<Void> write(List<Entry> entries) {
+        return enqueue(new WriteOp(List.copyOf(entries), null, new CompletableFuture<>()));
+    }
+
+    public CompletableFuture<Void> put(String key, byte[] value) {
+        return write(List.of(new Entry(key, value)));
+    }
+
+    public CompletableFuture<Void> delete(String key) {
+        return write(List.of(new Entry(key, null)));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * The keys present right now that start with {@code prefix}.
+     */
+    public List<String> keys(String prefix) {
+        return index.keySet().stream().filter(key -> key.startsWith(prefix)).toList();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Rewrites the live records of every sealed segment whose live share fell below {@code threshold}
+     * into the active segment and deletes the old file. Must not be called concurrently with itself.
+     *
+     * @return number of segments removed
+     */
+    public int compact(double threshold) {
+        int compacted = 0;
+        for (Segment segment : List.copyOf(segments.values())) {
+            if (segment == active) {
+                continue;
+            }
+            int written = segment.writePosition();
+            if (written > 0 && segment.liveBytes() >= threshold * written) {
+                continue;
+            }
+
+            boolean hasOlderSegments = segments.firstKey() < segment.id();
+            List<Entry> entries = new ArrayList<>();
+            List<RecordPointer> expected = new ArrayList<>();
+            scan(segment, (key, pointer, value) -> {
+                if (value == null) {
+                    // A deletion only matters while an older segment may still hold the key.
+                    if (hasOlderSegments) {
+                        entries.add(new Entry(key, null));
+                        expected.add(null);
+                    }
+                } else if (pointer.equals(index.get(key))) {
+                    entries.add(new Entry(key, value));
+                    expected.add(pointer);
+                }
+            });
+
+            if (!entries.isEmpty()) {
+                enqueue(new WriteOp(entries, expected, new CompletableFuture<>())).join();
+            }
+            segments.remove(segment.id());
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                log.warn("Could not delete compacted segment {}: {}", segment.id(), e.getMessage());
+            }
+            compacted++;
+        }
+        return compacted;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(SHUTDOWN);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(WriteOp op) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Segment store is closed"));
+        }
+        queue.add(op);
+        return op.done();
+    }
+
+    private void writeLoop() {
+        List<WriteOp> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            boolean shutdown = batch.remove(SHUTDOWN);
+
+            try {
+                commit(batch);
+                batch.forEach(op -> op.done().complete(null));
+            } catch (IOException | RuntimeException e) {
+                log.error("Group commit of {} writes failed", batch.size(), e);
+                batch.forEach(op -> op.done().completeExceptionally(e));
+            }
+            batch.clear();
+
+            if (shutdown) {
+                queue.forEach(op -> op.done().completeExceptionally(new IllegalStateException("Segment store is closed")));
+                return;
+            }
+        }
+    }
+
+    private void commit(List<WriteOp> batch) throws IOException {
+        Segment segment = active;
+        int dirtyFrom = segment.writePosition();
+
+        for (WriteOp op : batch) {
+            for (int i = 0; i < op.entries().size(); i++) {
+                Entry entry = op.entries().get(i);
+                RecordPointer expected = op.expected() == null ? null : op.expected().get(i);
+                if (op.expected() != null && entry.value() == null && index.containsKey(entry.key())) {
+                    // A newer write already supersedes the deletion being moved.
+                    continue;
+                }
+                if (expected != null && !expected.equals(index.get(entry.key()))) {
+                    // A newer write already supersedes the record being moved; appending it anyway
+                    // would bring the old value back when the log is replayed.
+                    continue;
+                }
+
+                byte[] key = entry.key().getBytes(StandardCharsets.UTF_8);
+                byte[] record = encode(key, entry.value());
+                if (record.length > segment.remaining()) {
+                    segment.force(dirtyFrom, segment.writePosition());
+                    segment = rotate(segment, record.length);
+                    dirtyFrom = 0;
+                }
+
+                int offset = segment.append(record);
+                RecordPointer pointer = new RecordPointer(segment.id(), offset, record.length, key.length);
+                if (entry.value() == null) {
+                    applyDelete(entry.key());
+                } else if (expected == null) {
+                    applyPut(entry.key(), pointer);
+                } else {
+                    // only this thread changes the index, so it still holds the expected pointer
+                    index.put(entry.key(), pointer);
+                    segment.addLive(pointer.length());
+                    release(expected);
+                }
+            }
+        }
+        segment.force(dirtyFrom, segment.writePosition());
+    }
+
+    private Segment rotate(Segment current, int recordLength) throws IOException {
+        if (recordLength > segmentSize) {
+            throw new IllegalArgumentException("Record of " + recordLength + " bytes exceeds the segment size");
+        }
+        int id = current.id() + 1;
+        Segment next = Segment.open(id, directory.resolve(fileName(id)), segmentSize);
+        // active first, so compaction never takes the new, still empty segment for a sealed one
+        active = next;
+        segments.put(id, next);
+        return next;
+    }
+
+    private void applyPut(String key, RecordPointer pointer) {
+        segments.get(pointer.segmentId()).addLive(pointer.length());
+        RecordPointer previous = index.put(key, pointer);
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    private void applyDelete(String key) {
+        RecordPointer previous = index.remove(key);
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    private void release(RecordPointer pointer) {
+        Segment segment = segments.get(pointer.segmentId());
+        if (segment != null) {
+            segment.addLive(-pointer.length());
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Integer> ids;
+        try (Stream<Path> files = Files.list(directory)) {
+            ids = files.map(path -> FILE_NAME.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Integer.parseInt(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            int id = ids.get(i);
+            boolean last = i == ids.size() - 1;
+            // Sealed segments are mapped as they are, the last one is extended to take new writes.
+            Segment segment = Segment.open(id, directory.resolve(fileName(id)), last ? segmentSize : 0);
+            segments.put(id, segment);
+            int end = scan(segment, (key, pointer, value) -> {
+                if (value == null) {
+                    applyDelete(key);
+                } else {
+                    applyPut(key, pointer);
+                }
+            });
+            segment.writePosition(end);
+        }
+
+        if (segments.isEmpty()) {
+            Segment first = Segment.open(1, directory.resolve(fileName(1)), segmentSize);
+            segments.put(1, first);
+        }
+        active = segments.lastEntry().getValue();
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        void visit(String key, RecordPointer pointer, byte[] value);
+    }
+
+    /**
+     * Visits every intact record of a segment in write order and returns the offset after the last one.
+     */
+    private static int scan(Segment segment, RecordVisitor visitor) {
+        ByteBuffer buffer = segment.buffer();
+        int limit = segment.capacity();
+        int position = 0;
+
+        while (position + HEADER_SIZE <= limit) {
+            int crc = buffer.getInt(position);
+            int keyLength = buffer.getInt(position + 4);
+            int valueLength = buffer.getInt(position + 8);
+            if (keyLength <= 0 || valueLength < TOMBSTONE) {
+                break;
+            }
+            int length = HEADER_SIZE + keyLength + Math.max(valueLength, 0);
+            if (length < 0 || position + length > limit) {
+                break;
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.slice(position + 4, length - 4));
+            if ((int) checksum.getValue() != crc) {
+                break;
+            }
+
+            byte[] key = segment.read(position + HEADER_SIZE, keyLength);
+            byte[] value = valueLength == TOMBSTONE ? null : segment.read(position + HEADER_SIZE + keyLength, valueLength);
+            visitor.visit(new String(key, StandardCharsets.UTF_8),
+                    new RecordPointer(segment.id(), position, length, keyLength), value);
+            position += length;
+        }
+        return position;
+    }
+
+    private static byte[] encode(byte[] key, byte[] value) {
+        int valueLength = value == null ? TOMBSTONE : value.length;
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + key.length + Math.max(valueLength, 0));
+        record.putInt(0)
+                .putInt(key.length)
+                .putInt(valueLength)
+                .put(key);
+        if (value != null) {
+            record.put(value);
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(record.array(), 4, record.capacity() - 4);
+        record.putInt(0, (int) checksum.getValue());
+        return record.array();
+    }
+
+    private static String fileName(int id) {
+        return "segment-%08d.log".formatted(id);
+    }
+}
@@ -0,0 +1,23 @@
+package com.my.jobsearcher.view.controllers;
+
+import com.my.jobsearcher.store.dto.IngestionStatusDto;
+import com.my.jobsearcher.view.services.ingestion.IngestionEngine;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*")
+@RestController
+@AllArgsConstructor
+public class IngestionController {
+
+    private final IngestionEngine ingestionEngine;
+
+    @GetMapping("/ingestion/status")
+    public List<IngestionStatusDto> getStatus() {
+        return ingestionEngine.getStatus();
+    }
+}
@@ -1,34 +1,226 @@
 package com.my.jobsearcher.view.controllers;
 
+import com.my.jobsearcher.store.dto.ColumnarVacanciesDto;
 import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.dto.StreamSummaryDto;
+import com.my.jobsearcher.store.dto.VacancyDeltaDto;
 import com.my.jobsearcher.store.entities.VacancyRequest;
 import com.my.jobsearcher.store.enums.Employment;
 import com.my.jobsearcher.store.enums.Experience;
 import com.my.jobsearcher.store.enums.Language;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.store.index.Hashing;
 import com.my.jobsearcher.view.services.MainService;
+import com.my.jobsearcher.view.services.ReactiveSearchService;
+import com.my.jobsearcher.view.services.sync.DeltaSync;
 
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.*;
 
+@Slf4j
 @CrossOrigin(origins = "*")
 @RestController
 @AllArgsConstructor
 public class MainController {
 
+    private static final long STREAM_TIMEOUT_MS = 60_000;
+    private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     private final MainService service;
+    private final ReactiveSearchService reactiveService;
+    private final DeltaSync deltaSync;
 
-    @SneakyThrows
-    @GetMapping("")
-    public Set<ResponseDto> getVacancies(
+    /**
+     * Vacancies as JSON, or as CBOR or Smile for clients asking for them in {@code Accept}: the
+     * same document in a binary encoding, without quoting and escaping every value.
+     * <p>
+     * The response carries a strong ETag of the result, so a client sending it back in
+     * {@code If-None-Match} gets a bodiless 304 while nothing changed, and is allowed to reuse it
+     * without asking for as long as the underlying data stays fresh.
+     */
+    @GetMapping(value = "", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            APPLICATION_SMILE_VALUE})
+    public ResponseEntity<Set<ResponseDto>> getVacancies(
+            @RequestParam(value = "language", required = false) List<String> langs,
+            @RequestParam(value = "exp", required = false) List<String> exps,
+            @RequestParam(value = "employment", required = false) List<String> emps,
+            @RequestParam(value = "source", required = false) List<String> sources,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        long version = service.dataVersion();
+        Set<ResponseDto> vacancies = find(langs, exps, emps, sources, query);
+        return cacheable(vacancies, version, "rows", accept, langs, exps, emps, sources).body(vacancies);
+    }
+
+    /**
+     * Same vacancies as {@link #getVacancies}, as {@code format=columnar}: one array per field, with
+     * companies and their logos stored once and referenced by index.
+     */
+    @GetMapping(value = "", params = "format=columnar", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ColumnarVacanciesDto> getColumnarVacancies(
+            @RequestParam(value = "language", required = false) List<String> langs,
+            @RequestParam(value = "exp", required = false) List<String> exps,
+            @RequestParam(value = "employment", required = false) List<String> emps,
+            @RequestParam(value = "source", required = false) List<String> sources,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        long version = service.dataVersion();
+        Set<ResponseDto> vacancies = find(langs, exps, emps, sources, query);
+        return cacheable(vacancies, version, "columnar", accept, langs, exps, emps, sources).body(ColumnarVacanciesDto.of(vacancies));
+    }
+
+    /**
+     * Same vacancies as {@link #getVacancies}, as the changes since the result behind
+     * {@code cursor} was handed out by this endpoint or a stream summary with the same filters:
+     * vacancies added, vacancies whose content changed, vacancies replacing a streamed near-duplicate
+     * by its id, and ids of vacancies removed. Without a
+     * usable cursor every vacancy comes as added, with {@code reset} set.
+     */
+    @GetMapping(value = "/delta", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            APPLICATION_SMILE_VALUE})
+    public VacancyDeltaDto getVacancyDelta(
+            @RequestParam(value = "language", required = false) List<String> langs,
+            @RequestParam(value = "exp", required = false) List<String> exps,
+            @RequestParam(value = "employment", required = false) List<String> emps,
+            @RequestParam(value = "source", required = false) List<String> sources,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        Set<ResponseDto> vacancies = find(langs, exps, emps, sources, query);
+        return deltaSync.delta(filters(langs, exps, emps, sources, query), cursor, vacancies);
+    }
+
+    /**
+     * Same changes as {@link #getVacancyDelta}, with the added vacancies as {@code format=columnar}
+     * in {@code addedColumns}. That matters most for a reset, which carries the whole result.
+     */
+    @GetMapping(value = "/delta", params = "format=columnar", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public VacancyDeltaDto getColumnarVacancyDelta(
+            @RequestParam(value = "language", required = false) List<String> langs,
+            @RequestParam(value = "exp", required = false) List<String> exps,
+            @RequestParam(value = "employment", required = false) List<String> emps,
+            @RequestParam(value = "source", required = false) List<String> sources,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        VacancyDeltaDto delta = getVacancyDelta(langs, exps, emps, sources, query, cursor);
+        delta.setAddedColumns(ColumnarVacanciesDto.of(delta.getAdded()));
+        delta.setAdded(null);
+        return delta;
+    }
+
+    /**
+     * Same search as {@link #getVacancies}, written as NDJSON: one line per source as soon as that
+     * source is done, then a summary line.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamVacancies(
+            @RequestParam("language") List<String> langs,
+            @RequestParam(value = "exp", required = false) List<String> exps,
+            @RequestParam(value = "employment", required = false) List<String> emps,
+            @RequestParam(value = "source", required = false) List<String> sources,
+            @RequestParam(value = "q", required = false) String query) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(STREAM_TIMEOUT_MS);
+        // batches are handed over one at a time, the summary after the last one
+        service.streamVacancies(buildRequests(langs, exps, emps), buildSources(sources), query,
+                        batch -> send(emitter, batch))
+                .whenComplete((summary, e) -> {
+                    if (e != null) {
+                        emitter.completeWithError(e);
+                        return;
+                    }
+                    summary.setCursor(deltaSync.remember(filters(langs, exps, emps, sources, query),
+                            summary.getVacancies()));
+                    send(emitter, summary);
+                    emitter.complete();
+                });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    /**
+     * Non-blocking variant of {@link #streamVacancies}: the request thread is released right away
+     * and the NDJSON lines are written as the reactive pipeline produces them.
+     */
+    @GetMapping(value = "/reactive", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> streamVacanciesReactive(
             @RequestParam("language") List<String> langs,
             @RequestParam(value = "exp", required = false) List<String> exps,
-            @RequestParam(value = "employment", required = false) List<String> emps) {
+            @RequestParam(value = "employment", required = false) List<String> emps,
+            @RequestParam(value = "source", required = false) List<String> sources,
+            @RequestParam(value = "q", required = false) String query) {
+        return reactiveService.streamVacancies(buildRequests(langs, exps, emps), buildSources(sources), query)
+                .doOnNext(event -> {
+                    if (event instanceof StreamSummaryDto summary) {
+                        summary.setCursor(deltaSync.remember(filters(langs, exps, emps, sources, query),
+                                summary.getVacancies()));
+                    }
+                });
+    }
+
+    /**
+     * Validators and freshness of a result. The ETag hashes the ids in order with the data version
+     * read before the search, the format and the accepted types, so it only repeats for a
+     * byte-identical body; {@link ResponseEntity} answers a matching {@code If-None-Match} with 304.
+     */
+    private ResponseEntity.BodyBuilder cacheable(Set<ResponseDto> vacancies,
+                                                 long version,
+                                                 String format,
+                                                 String accept,
+                                                 List<String> langs,
+                                                 List<String> exps,
+                                                 List<String> emps,
+                                                 List<String> sources) {
+        StringBuilder identity = new StringBuilder()
+                .append(version).append('|').append(format).append('|').append(accept);
+        vacancies.forEach(vacancy -> identity.append('|').append(vacancy.getId()));
+        List<VacancyRequest> requests = langs == null || langs.isEmpty() ? List.of() : buildRequests(langs, exps, emps);
+        Duration fresh = service.freshFor(requests, buildSources(sources));
+        CacheControl cacheControl = fresh.isPositive()
+                ? CacheControl.maxAge(fresh).mustRevalidate()
+                : CacheControl.noCache();
+        return ResponseEntity.ok()
+                .eTag(Long.toHexString(Hashing.hash64(identity.toString())))
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+
+    @SneakyThrows
+    private Set<ResponseDto> find(List<String> langs, List<String> exps, List<String> emps,
+                                  List<String> sources, String query) {
+        boolean hasQuery = query != null && !query.isBlank();
+        if (langs == null || langs.isEmpty()) {
+            if (!hasQuery) {
+                throw new MissingServletRequestParameterException("language", "List");
+            }
+            return service.search(query);
+        }
+
+        Set<ResponseDto> responseSet = service.getVacancies(buildRequests(langs, exps, emps), buildSources(sources), query);
+        log.debug("Returning {} vacancies", responseSet.size());
+        return responseSet;
+    }
+
+    private List<VacancyRequest> buildRequests(List<String> langs, List<String> exps, List<String> emps) {
         if (exps == null || exps.isEmpty()) {
             exps = Collections.singletonList("ALL");
         }
@@ -51,12 +243,38 @@ public class MainController {
                 }
             }
         }
+        return vacancyRequests;
+    }
 
-        Set<ResponseDto> responseSet = new HashSet<>();
-        for (VacancyRequest request : vacancyRequests) {
-            responseSet.addAll(service.getVacancies(request));
+    /**
+     * Sources named by the {@code source} parameter; none means every enabled source.
+     */
+    private Set<Source> buildSources(List<String> sources) {
+        Set<Source> selected = EnumSet.noneOf(Source.class);
+        if (sources != null) {
+            sources.forEach(source -> selected.add(SourceController.parse(source)));
+        }
+        return selected;
+    }
+
+    /**
+     * The filters of a search in a canonical form, so that equal searches compare equal whatever
+     * the order and spelling of their parameters.
+     */
+    private String filters(List<String> langs, List<String> exps, List<String> emps, List<String> sources, String query) {
+        List<String> requests = langs == null || langs.isEmpty() ? List.of() : buildRequests(langs, exps, emps).stream()
+                .map(request -> request.getLang() + "/" + request.getExp() + "/" + request.getEmp())
+                .sorted()
+                .toList();
+        return requests + "|" + buildSources(sources) + "|" + (query == null ? "" : query.trim());
+    }
+
+    private static void send(ResponseBodyEmitter emitter, Object event) {
+        try {
+            emitter.send(event, MediaType.APPLICATION_JSON);
+            emitter.send("\n", MediaType.TEXT_PLAIN);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        System.out.println("responseSet = " + responseSet);
-        return responseSet;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.my.jobsearcher.view.controllers;
+
+import com.my.jobsearcher.store.dto.RateLimitStatusDto;
+import com.my.jobsearcher.view.services.ratelimit.RateLimiter;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*")
+@RestController
+@AllArgsConstructor
+public class RateLimitController {
+
+    private final RateLimiter rateLimiter;
+
+    @GetMapping("/rate-limits")
+    public List<RateLimitStatusDto> getStatus() {
+        return rateLimiter.getStatus();
+    }
+}
@@ -0,0 +1,51 @@
+package com.my.jobsearcher.view.controllers;
+
+import com.my.jobsearcher.store.dto.SourceStatusDto;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.view.services.registry.SourceRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+public class SourceController {
+
+    private final SourceRegistry sourceRegistry;
+
+    @CrossOrigin(origins = "*")
+    @GetMapping("/sources")
+    public List<SourceStatusDto> getStatus() {
+        return sourceRegistry.getStatus();
+    }
+
+    /**
+     * Takes a source out of, or back into, searches and crawls until the next restart. An admin
+     * switch, so unlike the read-only endpoints it is not open to cross-origin browser calls.
+     */
+    @PutMapping("/sources/{source}")
+    public List<SourceStatusDto> setEnabled(@PathVariable String source, @RequestParam("enabled") boolean enabled) {
+        sourceRegistry.setEnabled(parse(source), enabled);
+        return sourceRegistry.getStatus();
+    }
+
+    /**
+     * The source named, in any case; an unknown name is a bad request rather than a server error.
+     */
+    static Source parse(String source) {
+        try {
+            return Source.valueOf(source.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Unknown source: " + source,
+                    null, null, null);
+        }
+    }
+}
@@ -1,34 +1,318 @@
 package com.my.jobsearcher.view.services;
 
+import com.my.jobsearcher.config.CacheProperties;
+import com.my.jobsearcher.config.FanOutProperties;
+import com.my.jobsearcher.config.IngestionProperties;
 import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.dto.SourceBatchDto;
+import com.my.jobsearcher.store.dto.StreamSummaryDto;
+import com.my.jobsearcher.store.entities.SourceQuery;
 import com.my.jobsearcher.store.entities.VacancyRequest;
-import com.my.jobsearcher.view.services.parsers.impl.DjinniParser;
-import com.my.jobsearcher.view.services.parsers.impl.DouParser;
-import com.my.jobsearcher.view.services.parsers.impl.LinkedInParser;
+import com.my.jobsearcher.store.entities.VacancySnapshot;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.store.index.VacancyIndex;
+import com.my.jobsearcher.store.repositories.VacancyStore;
+import com.my.jobsearcher.view.services.cache.VacancyCache;
+import com.my.jobsearcher.view.services.dedup.Deduplicator;
+import com.my.jobsearcher.view.services.dedup.NearDuplicates;
+import com.my.jobsearcher.view.services.ingestion.IngestionEngine;
+import com.my.jobsearcher.view.services.parsers.Parser;
+import com.my.jobsearcher.view.services.planner.FetchPlan;
+import com.my.jobsearcher.view.services.planner.PlannedFetch;
+import com.my.jobsearcher.view.services.planner.QueryPlanner;
+import com.my.jobsearcher.view.services.registry.SourceRegistry;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class MainService {
 
-    private final DjinniParser djinniParser;
-    private final DouParser douParser;
-    private final LinkedInParser linkedInParser;
+    /**
+     * Order of the results: by title, then company, then id, so the same vacancies always come out
+     * in the same order.
+     */
+    private static final Comparator<ResponseDto> RESULT_ORDER = Comparator
+            .comparing(ResponseDto::getJobTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(ResponseDto::getCompany, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingLong(ResponseDto::getId);
 
-    public List<ResponseDto> getVacancies(VacancyRequest vacancyRequest) {
-        List<ResponseDto> resultList = new ArrayList<>();
+    private final SourceRegistry sourceRegistry;
+    private final FanOutProperties fanOutProperties;
+    private final QueryPlanner queryPlanner;
+    private final VacancyCache vacancyCache;
+    private final VacancyStore vacancyStore;
+    private final IngestionProperties ingestionProperties;
+    private final VacancyIndex vacancyIndex;
+    private final IngestionEngine ingestionEngine;
+    private final Deduplicator deduplicator;
+    private final CacheProperties cacheProperties;
 
-        List<ResponseDto> djinniParserVacancies = djinniParser.getVacancies(vacancyRequest);
-        List<ResponseDto> douParserVacancies = douParser.getVacancies(vacancyRequest);
-        List<ResponseDto> linkedInParserVacancies = linkedInParser.getVacancies(vacancyRequest);
+    /**
+     * Vacancies answering any of the given requests from the given sources, or from every enabled
+     * source when {@code sources} is empty. When {@code query} is not blank, only vacancies
+     * containing every term of it are returned. Postings of the same job on several boards are
+     * collapsed into one, and the result is sorted so that equal results come in equal order.
+     * <p>
+     * Once the background crawler holds a fresh copy of every query asked, the filters are resolved on
+     * the facet index alone. Otherwise the minimal set of upstream fetches is planned, sent all at
+     * once and merged as results arrive: queries the crawler has fresh results for are answered
+     * from the store, cached results are used where present. A source that misses its deadline is
+     * left out of the result instead of holding up the others.
+     */
+    public Set<ResponseDto> getVacancies(List<VacancyRequest> vacancyRequests, Collection<Source> sources, String query) {
+        List<Parser> parsers = sourceRegistry.parsers(sources);
+        if (servesFromIndex(vacancyRequests, parsers)) {
+            return ordered(deduplicator.collapse(
+                    vacancyIndex.query(queryPlanner.sourceQueries(vacancyRequests, parsers), query)));
+        }
 
-        resultList.addAll(djinniParserVacancies);
-        resultList.addAll(douParserVacancies);
-        resultList.addAll(linkedInParserVacancies);
-        return resultList;
+        return ordered(deduplicator.collapse(matching(fetchVacancies(vacancyRequests, parsers), query)));
+    }
+
+    /**
+     * Streaming variant of {@link #getVacancies(List, Collection, String)}: as soon as all fetches of a source
+     * are done, its vacancies not already sent by another source, exactly or as a near-duplicate,
+     * are handed to {@code onBatch}.
+     * The returned future completes with a summary after the last source.
+     */
+    public CompletableFuture<StreamSummaryDto> streamVacancies(List<VacancyRequest> vacancyRequests,
+                                                              Collection<Source> sources,
+                                                              String query,
+                                                              Consumer<SourceBatchDto> onBatch) {
+        long started = System.nanoTime();
+        Set<ResponseDto> sent = new HashSet<>();
+        NearDuplicates nearDuplicates = deduplicator.session();
+        List<Source> incompleteSources = new ArrayList<>();
+        Consumer<SourceResult> emit = result -> {
+            List<ResponseDto> vacancies = matching(result.vacancies(), query);
+            synchronized (sent) {
+                vacancies = nearDuplicates.add(vacancies);
+                vacancies.removeIf(vacancy -> !sent.add(vacancy));
+                if (!result.complete()) {
+                    incompleteSources.add(result.source());
+                }
+                onBatch.accept(SourceBatchDto.builder()
+                        .source(result.source())
+                        .vacancies(vacancies)
+                        .build());
+            }
+        };
+
+        CompletableFuture<?>[] results = fetchBySource(vacancyRequests, sourceRegistry.parsers(sources)).values().stream()
+                .map(result -> result.thenAccept(emit))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(results).thenApply(ignored -> {
+            synchronized (sent) {
+                return StreamSummaryDto.builder()
+                        .total(sent.size())
+                        .incompleteSources(incompleteSources)
+                        .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                        .vacancies(new ArrayList<>(sent))
+                        .build();
+            }
+        });
+    }
+
+    /**
+     * Every indexed vacancy containing every term of {@code query}, without fetching anything.
+     */
+    public Set<ResponseDto> search(String query) {
+        return ordered(deduplicator.collapse(vacancyIndex.search(query)));
+    }
+
+    /**
+     * Version of the vacancy data: read before a search, equal versions and equal result ids mean
+     * equal results.
+     */
+    public long dataVersion() {
+        return vacancyIndex.version();
+    }
+
+    /**
+     * How long results for the requests, or for every combination when {@code vacancyRequests} is
+     * empty, from the given sources, or every enabled source when {@code sources} is empty, can be
+     * reused without asking again: while they are served from a fresh crawl, until the oldest crawl
+     * ages out, at most {@code searcher.cache.refresh-after}; zero when they are fetched live.
+     */
+    public Duration freshFor(List<VacancyRequest> vacancyRequests, Collection<Source> sources) {
+        if (!ingestionProperties.isEnabled()) {
+            return Duration.ZERO;
+        }
+        List<VacancyRequest> requests = vacancyRequests.isEmpty() ? IngestionEngine.allRequests() : vacancyRequests;
+        Duration fresh = ingestionEngine.freshFor(ingestionProperties.getMaxAge(),
+                queryPlanner.sourceQueries(requests, sourceRegistry.parsers(sources)));
+        return fresh.compareTo(cacheProperties.getRefreshAfter()) < 0 ? fresh : cacheProperties.getRefreshAfter();
+    }
+
+    private Set<ResponseDto> fetchVacancies(List<VacancyRequest> vacancyRequests, List<Parser> parsers) {
+        Collection<CompletableFuture<SourceResult>> sources = fetchBySource(vacancyRequests, parsers).values();
+        try {
+            CompletableFuture.allOf(sources.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        Set<ResponseDto> resultSet = new HashSet<>();
+        sources.forEach(source -> resultSet.addAll(source.join().vacancies()));
+        return resultSet;
+    }
+
+    /**
+     * Starts every fetch the requests need from the given parsers and returns, per source, a future completing once all of
+     * that source's fetches are done. Once every query holds a fresh crawl, the facet index answers
+     * instead and the futures are already complete.
+     */
+    private Map<Source, CompletableFuture<SourceResult>> fetchBySource(List<VacancyRequest> vacancyRequests,
+                                                                       List<Parser> parsers) {
+        Map<Source, CompletableFuture<SourceResult>> results = new EnumMap<>(Source.class);
+        if (servesFromIndex(vacancyRequests, parsers)) {
+            for (Parser parser : parsers) {
+                results.put(parser.getSource(), CompletableFuture.completedFuture(fromIndex(vacancyRequests, parser)));
+            }
+            return results;
+        }
+
+        FetchPlan plan = queryPlanner.plan(vacancyRequests, parsers);
+        log.debug("Planned {} upstream fetches for {} logical ones", plan.fetches().size(), plan.logicalFetches());
+
+        Map<Source, List<CompletableFuture<List<ResponseDto>>>> fetches = new EnumMap<>(Source.class);
+        for (PlannedFetch plannedFetch : plan.fetches()) {
+            Parser parser = plannedFetch.parser();
+            List<CompletableFuture<List<ResponseDto>>> sourceFetches =
+                    fetches.computeIfAbsent(parser.getSource(), source -> new ArrayList<>());
+
+            List<SourceQuery> queries = new ArrayList<>();
+            for (VacancyRequest canonical : plannedFetch.routes().keySet()) {
+                SourceQuery query = new SourceQuery(parser.getSource(), canonical);
+                Optional<VacancySnapshot> snapshot = freshSnapshot(query);
+                if (snapshot.isPresent()) {
+                    // Snapshots may predate this process, so make sure the index holds what they returned.
+                    vacancyIndex.index(query, snapshot.get().vacancies());
+                    sourceFetches.add(CompletableFuture.completedFuture(snapshot.get().vacancies()));
+                } else {
+                    queries.add(query);
+                }
+            }
+            if (!queries.isEmpty()) {
+                sourceFetches.add(fetch(parser, plannedFetch.fetchKey(), queries));
+            }
+        }
+
+        fetches.forEach((source, sourceFetches) -> results.put(source, CompletableFuture
+                .allOf(sourceFetches.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    List<ResponseDto> vacancies = new ArrayList<>();
+                    boolean complete = true;
+                    for (CompletableFuture<List<ResponseDto>> fetch : sourceFetches) {
+                        List<ResponseDto> fetched = fetch.join();
+                        if (fetched == null) {
+                            complete = false;
+                        } else {
+                            vacancies.addAll(fetched);
+                        }
+                    }
+                    return new SourceResult(source, vacancies, complete);
+                })));
+        return results;
+    }
+
+    /**
+     * Cards of one planned fetch, or {@code null} when it missed the source's deadline.
+     */
+    private CompletableFuture<List<ResponseDto>> fetch(Parser parser, String fetchKey, List<SourceQuery> queries) {
+        long deadline = fanOutProperties.deadlineFor(parser.getSource()).toMillis();
+        return vacancyCache.getAll(queries)
+                // copy so the timeout does not complete the future held by the cache
+                .copy()
+                .orTimeout(deadline, TimeUnit.MILLISECONDS)
+                .handle((cached, e) -> {
+                    if (e == null) {
+                        List<ResponseDto> vacancies = new ArrayList<>();
+                        cached.values().forEach(entry -> vacancies.addAll(entry.vacancies()));
+                        return vacancies;
+                    }
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        log.warn("{} missed its {} ms deadline for {}", parser.getSource(), deadline, fetchKey);
+                        return null;
+                    }
+                    throw e instanceof CompletionException ce ? ce : new CompletionException(cause);
+                });
+    }
+
+    /**
+     * Whether every query the requests resolve to on the parsers holds a fresh crawl, so that the
+     * index answers for them.
+     */
+    boolean servesFromIndex(List<VacancyRequest> vacancyRequests, List<Parser> parsers) {
+        return ingestionProperties.isEnabled()
+                && ingestionEngine.isFresh(ingestionProperties.getMaxAge(),
+                queryPlanner.sourceQueries(vacancyRequests, parsers));
+    }
+
+    /**
+     * The vacancies the index holds for the requests on the parser's source.
+     */
+    SourceResult fromIndex(List<VacancyRequest> vacancyRequests, Parser parser) {
+        return new SourceResult(parser.getSource(),
+                vacancyIndex.query(queryPlanner.sourceQueries(vacancyRequests, List.of(parser)), null),
+                true);
+    }
+
+    /**
+     * The vacancies containing every term of {@code query}, or all of them when it is blank. The
+     * cards are matched themselves rather than looked up in the index, which does not hold
+     * cached or last-known-good results that are no longer any query's latest.
+     */
+    List<ResponseDto> matching(Collection<ResponseDto> vacancies, String query) {
+        List<ResponseDto> matches = new ArrayList<>(vacancies);
+        if (query != null && !query.isBlank()) {
+            matches.removeIf(VacancyIndex.matcher(query).negate());
+        }
+        return matches;
+    }
+
+    static List<ResponseDto> flatten(Collection<? extends Collection<ResponseDto>> lists) {
+        List<ResponseDto> vacancies = new ArrayList<>();
+        lists.forEach(vacancies::addAll);
+        return vacancies;
+    }
+
+    private static Set<ResponseDto> ordered(Collection<ResponseDto> vacancies) {
+        List<ResponseDto> sorted = new ArrayList<>(vacancies);
+        sorted.sort(RESULT_ORDER);
+        return new LinkedHashSet<>(sorted);
+    }
+
+    private Optional<VacancySnapshot> freshSnapshot(SourceQuery query) {
+        if (!ingestionProperties.isEnabled()) {
+            return Optional.empty();
+        }
+        Instant oldestAccepted = Instant.now().minus(ingestionProperties.getMaxAge());
+        return vacancyStore.get(query).filter(snapshot -> snapshot.fetchedAt().isAfter(oldestAccepted));
     }
 }
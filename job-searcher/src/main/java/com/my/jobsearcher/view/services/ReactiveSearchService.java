@@ -0,0 +1,164 @@
+package com.my.jobsearcher.view.services;
+
+import com.my.jobsearcher.config.FanOutProperties;
+import com.my.jobsearcher.config.PaginationProperties;
+import com.my.jobsearcher.config.ReactiveProperties;
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.dto.SourceBatchDto;
+import com.my.jobsearcher.store.dto.StreamSummaryDto;
+import com.my.jobsearcher.store.entities.SourceQuery;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.view.services.cache.CachedVacancies;
+import com.my.jobsearcher.view.services.cache.VacancyCache;
+import com.my.jobsearcher.view.services.dedup.Deduplicator;
+import com.my.jobsearcher.view.services.dedup.NearDuplicates;
+import com.my.jobsearcher.view.services.fetch.ReactivePageFetcher;
+import com.my.jobsearcher.view.services.parsers.HtmlExtractor;
+import com.my.jobsearcher.view.services.parsers.Parser;
+import com.my.jobsearcher.view.services.planner.FetchPlan;
+import com.my.jobsearcher.view.services.planner.PlannedFetch;
+import com.my.jobsearcher.view.services.planner.QueryPlanner;
+import com.my.jobsearcher.view.services.registry.SourceRegistry;
+import com.my.jobsearcher.view.services.resilience.SourceGuard;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Non-blocking variant of the {@link MainService} search. Pages are downloaded by the pooled
+ * reactive client and parsed on the bounded {@code parseScheduler}; at most
+ * {@code searcher.reactive.concurrency} fetches of a search are in flight, and a new one starts
+ * only once the subscriber has taken the batches produced so far.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class ReactiveSearchService {
+
+    private final MainService mainService;
+    private final SourceRegistry sourceRegistry;
+    private final QueryPlanner queryPlanner;
+    private final ReactivePageFetcher pageFetcher;
+    private final VacancyLoader vacancyLoader;
+    private final VacancyCache vacancyCache;
+    private final FanOutProperties fanOutProperties;
+    private final ReactiveProperties reactiveProperties;
+    private final PaginationProperties paginationProperties;
+    private final Scheduler parseScheduler;
+    private final SourceGuard sourceGuard;
+    private final HtmlExtractor htmlExtractor;
+    private final Deduplicator deduplicator;
+
+    /**
+     * One batch per planned fetch as soon as it is parsed, holding the vacancies not already sent,
+     * exactly or as a near-duplicate, followed by a {@link StreamSummaryDto}. Only the given sources
+     * are searched, or every enabled source when {@code sources} is empty.
+     */
+    public Flux<Object> streamVacancies(List<VacancyRequest> vacancyRequests, Collection<Source> sources, String query) {
+        return Flux.defer(() -> {
+            long started = System.nanoTime();
+            Set<ResponseDto> sent = ConcurrentHashMap.newKeySet();
+            NearDuplicates nearDuplicates = deduplicator.session();
+            Set<Source> incompleteSources = ConcurrentHashMap.newKeySet();
+
+            Flux<SourceBatchDto> batches = results(vacancyRequests, sourceRegistry.parsers(sources))
+                    .map(result -> {
+                        if (!result.complete()) {
+                            incompleteSources.add(result.source());
+                        }
+                        List<ResponseDto> vacancies = nearDuplicates.add(mainService.matching(result.vacancies(), query));
+                        vacancies.removeIf(vacancy -> !sent.add(vacancy));
+                        return SourceBatchDto.builder()
+                                .source(result.source())
+                                .vacancies(vacancies)
+                                .build();
+                    });
+            Mono<StreamSummaryDto> summary = Mono.fromSupplier(() -> StreamSummaryDto.builder()
+                    .total(sent.size())
+                    .incompleteSources(new ArrayList<>(incompleteSources))
+                    .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                    .vacancies(new ArrayList<>(sent))
+                    .build());
+            return Flux.concat(batches, summary);
+        });
+    }
+
+    private Flux<SourceResult> results(List<VacancyRequest> vacancyRequests, List<Parser> parsers) {
+        if (mainService.servesFromIndex(vacancyRequests, parsers)) {
+            return Flux.fromIterable(parsers).map(parser -> mainService.fromIndex(vacancyRequests, parser));
+        }
+
+        FetchPlan plan = queryPlanner.plan(vacancyRequests, parsers);
+        log.debug("Planned {} reactive fetches for {} logical ones", plan.fetches().size(), plan.logicalFetches());
+        return Flux.fromIterable(plan.fetches())
+                .flatMap(this::load, reactiveProperties.getConcurrency(), 1);
+    }
+
+    /**
+     * Cards of one planned fetch, taken from the cache when every route is present there. Follow-up
+     * pages are downloaded concurrently up to the source's pagination concurrency. A fetch that
+     * fails, misses the source's deadline or finds its circuit open yields an incomplete result
+     * holding the last snapshots stored for its queries.
+     */
+    private Mono<SourceResult> load(PlannedFetch plannedFetch) {
+        Parser parser = plannedFetch.parser();
+        Source source = parser.getSource();
+        List<SourceQuery> queries = plannedFetch.routes().keySet().stream()
+                .map(canonical -> new SourceQuery(source, canonical))
+                .toList();
+
+        Map<SourceQuery, CachedVacancies> cached = vacancyCache.getAllPresent(queries);
+        if (cached.size() == queries.size()) {
+            return Mono.just(new SourceResult(source,
+                    MainService.flatten(cached.values().stream().map(CachedVacancies::vacancies).toList()), true));
+        }
+
+        Duration deadline = fanOutProperties.deadlineFor(source);
+        String fetchKey = plannedFetch.fetchKey();
+        Mono<Map<VacancyRequest, List<ResponseDto>>> fetch = pageFetcher.fetch(parser, fetchKey)
+                .publishOn(parseScheduler)
+                .map(body -> htmlExtractor.firstPage(parser, body, fetchKey))
+                .flatMap(firstPage -> Flux.fromIterable(vacancyLoader.nextPages(parser, fetchKey, firstPage))
+                        .flatMapSequential(page -> pageFetcher.fetchPage(parser, page)
+                                .publishOn(parseScheduler)
+                                .map(body -> htmlExtractor.nextPage(parser, body, fetchKey))
+                                .onErrorResume(e -> {
+                                    log.warn("Skipping {}: {}", page.url(), e.toString());
+                                    return Mono.empty();
+                                }), paginationProperties.concurrencyFor(source))
+                        .startWith(firstPage)
+                        .collectList())
+                .map(pages -> vacancyLoader.parse(parser, pages, plannedFetch.routes().keySet()))
+                .timeout(deadline);
+        return sourceGuard.guard(source, fetch)
+                .doOnNext(parsed -> parsed.forEach((canonical, cards) ->
+                        vacancyCache.put(new SourceQuery(source, canonical), cards)))
+                .map(parsed -> new SourceResult(source, MainService.flatten(parsed.values()), true))
+                .onErrorResume(e -> {
+                    log.warn("Reactive fetch of {} failed: {}", fetchKey, e.toString());
+                    return Mono.fromSupplier(() -> lastKnownGood(source, queries)).subscribeOn(parseScheduler);
+                });
+    }
+
+    /**
+     * The snapshots stored for the queries, as an incomplete result.
+     */
+    private SourceResult lastKnownGood(Source source, List<SourceQuery> queries) {
+        return new SourceResult(source, MainService.flatten(queries.stream()
+                .map(vacancyCache::lastKnownGood)
+                .map(CachedVacancies::vacancies)
+                .toList()), false);
+    }
+}
@@ -0,0 +1,14 @@
+package com.my.jobsearcher.view.services;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.enums.Source;
+
+import java.util.List;
+
+/**
+ * Cards one source returned for a search.
+ *
+ * @param complete {@code false} when some of the source's fetches missed their deadline
+ */
+public record SourceResult(Source source, List<ResponseDto> vacancies, boolean complete) {
+}
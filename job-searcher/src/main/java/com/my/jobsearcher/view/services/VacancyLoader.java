@@ -0,0 +1,179 @@
+package com.my.jobsearcher.view.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.my.jobsearcher.config.CacheProperties;
+import com.my.jobsearcher.config.PaginationProperties;
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.entities.SourceQuery;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.index.VacancyIndex;
+import com.my.jobsearcher.view.services.fetch.FetchedPage;
+import com.my.jobsearcher.view.services.fetch.PageFetcher;
+import com.my.jobsearcher.view.services.fetch.PageVersion;
+import com.my.jobsearcher.view.services.parsers.HtmlExtractor;
+import com.my.jobsearcher.view.services.parsers.PageRequest;
+import com.my.jobsearcher.view.services.parsers.Parser;
+import org.jsoup.nodes.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class VacancyLoader {
+
+    private final PageFetcher pageFetcher;
+    private final VacancyIndex vacancyIndex;
+    private final PaginationProperties paginationProperties;
+    private final HtmlExtractor htmlExtractor;
+    private final Cache<String, ParsedPage> parsedPages;
+
+    public VacancyLoader(PageFetcher pageFetcher,
+                         VacancyIndex vacancyIndex,
+                         PaginationProperties paginationProperties,
+                         CacheProperties cacheProperties,
+                         HtmlExtractor htmlExtractor) {
+        this.pageFetcher = pageFetcher;
+        this.vacancyIndex = vacancyIndex;
+        this.paginationProperties = paginationProperties;
+        this.htmlExtractor = htmlExtractor;
+        this.parsedPages = Caffeine.newBuilder()
+                .expireAfterAccess(cacheProperties.getPageTtl())
+                .maximumWeight(cacheProperties.getMaximumVacancies())
+                .weigher((String key, ParsedPage page) -> page.size() + 1)
+                .build();
+    }
+
+    /**
+     * Fetches the first result page and up to {@code max-pages - 1} following ones, then extracts the
+     * cards of every canonical request routed to the fetch key. Pages found unchanged since the last
+     * load are not parsed again; their cards from that load are reused.
+     * The cards of each canonical request replace what the vacancy index held for it.
+     */
+    public Map<VacancyRequest, List<ResponseDto>> load(Parser parser,
+                                                       String fetchKey,
+                                                       Collection<VacancyRequest> canonicalRequests) {
+        List<ParsedPage> pages = new ArrayList<>();
+        ParsedPage firstPage = loadPage(parser, fetchKey, PageRequest.get(fetchKey), canonicalRequests, true);
+        pages.add(firstPage);
+
+        Map<PageRequest, FetchedPage> fetched = pageFetcher.fetchAll(parser, firstPage.nextPages(),
+                page -> knownVersion(page, canonicalRequests));
+        fetched.forEach((page, download) ->
+                pages.add(toParsedPage(parser, fetchKey, page, download, canonicalRequests, false)));
+        return merge(parser, pages.stream().map(ParsedPage::cards).toList(), canonicalRequests);
+    }
+
+    /**
+     * The follow-up pages of a fetch key within the page budget.
+     */
+    public List<PageRequest> nextPages(Parser parser, String fetchKey, Document firstPage) {
+        int maxPages = paginationProperties.getMaxPages();
+        if (maxPages <= 1) {
+            return List.of();
+        }
+        List<PageRequest> pages = parser.nextPages(fetchKey, firstPage, maxPages);
+        return pages.size() < maxPages ? pages : pages.subList(0, maxPages - 1);
+    }
+
+    /**
+     * Parses already downloaded result pages, see {@link #load(Parser, String, Collection)}. Cards
+     * repeated on several pages are kept once.
+     */
+    public Map<VacancyRequest, List<ResponseDto>> parse(Parser parser,
+                                                        List<Document> pages,
+                                                        Collection<VacancyRequest> canonicalRequests) {
+        List<Map<VacancyRequest, List<ResponseDto>>> pageCards = new ArrayList<>();
+        for (Document page : pages) {
+            pageCards.add(parse(parser, page, canonicalRequests));
+        }
+        return merge(parser, pageCards, canonicalRequests);
+    }
+
+    private Map<VacancyRequest, List<ResponseDto>> merge(Parser parser,
+                                                         List<Map<VacancyRequest, List<ResponseDto>>> pageCards,
+                                                         Collection<VacancyRequest> canonicalRequests) {
+        Map<VacancyRequest, List<ResponseDto>> vacancies = new LinkedHashMap<>();
+        for (VacancyRequest canonical : canonicalRequests) {
+            Set<ResponseDto> cards = new LinkedHashSet<>();
+            pageCards.forEach(page -> cards.addAll(page.get(canonical)));
+            List<ResponseDto> cardList = new ArrayList<>(cards);
+            vacancyIndex.index(new SourceQuery(parser.getSource(), canonical), cardList);
+            vacancies.put(canonical, cardList);
+        }
+        return vacancies;
+    }
+
+    private static Map<VacancyRequest, List<ResponseDto>> parse(Parser parser,
+                                                                Document page,
+                                                                Collection<VacancyRequest> canonicalRequests) {
+        Map<VacancyRequest, List<ResponseDto>> cards = new LinkedHashMap<>();
+        for (VacancyRequest canonical : canonicalRequests) {
+            cards.put(canonical, parser.parse(page, canonical));
+        }
+        return cards;
+    }
+
+    private ParsedPage loadPage(Parser parser,
+                                String fetchKey,
+                                PageRequest page,
+                                Collection<VacancyRequest> canonicalRequests,
+                                boolean firstPage) {
+        FetchedPage download = pageFetcher.fetch(parser, page, knownVersion(page, canonicalRequests));
+        return toParsedPage(parser, fetchKey, page, download, canonicalRequests, firstPage);
+    }
+
+    private ParsedPage toParsedPage(Parser parser,
+                                    String fetchKey,
+                                    PageRequest page,
+                                    FetchedPage download,
+                                    Collection<VacancyRequest> canonicalRequests,
+                                    boolean firstPage) {
+        ParsedPage previous = parsedPages.getIfPresent(page.key());
+        if (!download.changed() && previous != null && previous.covers(canonicalRequests)) {
+            return previous;
+        }
+        if (download.body() == null) {
+            // a concurrent caller's conditional request came back empty, but this one has nothing to reuse
+            download = pageFetcher.fetch(parser, page, null);
+        }
+
+        Document document = firstPage
+                ? htmlExtractor.firstPage(parser, download.body(), fetchKey)
+                : htmlExtractor.nextPage(parser, download.body(), fetchKey);
+        Map<VacancyRequest, List<ResponseDto>> cards = parse(parser, document, canonicalRequests);
+        List<PageRequest> nextPages = firstPage ? nextPages(parser, fetchKey, document) : List.of();
+
+        ParsedPage parsed = new ParsedPage(download.version(), nextPages, cards);
+        parsedPages.put(page.key(), parsed);
+        return parsed;
+    }
+
+    /**
+     * The version to download a page against: only when its last parse can answer every
+     * requested canonical request is an unchanged page useful.
+     */
+    private PageVersion knownVersion(PageRequest page, Collection<VacancyRequest> canonicalRequests) {
+        ParsedPage previous = parsedPages.getIfPresent(page.key());
+        return previous != null && previous.covers(canonicalRequests) ? previous.version() : null;
+    }
+
+    private record ParsedPage(PageVersion version,
+                              List<PageRequest> nextPages,
+                              Map<VacancyRequest, List<ResponseDto>> cards) {
+
+        boolean covers(Collection<VacancyRequest> canonicalRequests) {
+            return cards.keySet().containsAll(canonicalRequests);
+        }
+
+        int size() {
+            return cards.values().stream().mapToInt(List::size).sum();
+        }
+    }
+}
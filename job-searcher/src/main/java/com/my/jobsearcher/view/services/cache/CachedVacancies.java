@@ -0,0 +1,28 @@
+package com.my.jobsearcher.view.services.cache;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+
+import java.util.List;
+
+/**
+ * @param failed whether the fetch behind this entry failed; failed entries carry no vacancies or,
+ *               when the source was unavailable, the last vacancies stored for the query
+ */
+public record CachedVacancies(List<ResponseDto> vacancies, boolean failed) {
+
+    public static CachedVacancies of(List<ResponseDto> vacancies) {
+        return new CachedVacancies(List.copyOf(vacancies), false);
+    }
+
+    public static CachedVacancies fallback(List<ResponseDto> lastKnownGood) {
+        return new CachedVacancies(List.copyOf(lastKnownGood), true);
+    }
+
+    public static CachedVacancies failure() {
+        return new CachedVacancies(List.of(), true);
+    }
+
+    public boolean isNegative() {
+        return failed || vacancies.isEmpty();
+    }
+}
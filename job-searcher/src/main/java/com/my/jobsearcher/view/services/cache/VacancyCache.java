@@ -0,0 +1,188 @@
+package com.my.jobsearcher.view.services.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.my.jobsearcher.config.CacheProperties;
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.entities.SourceQuery;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.store.repositories.VacancyStore;
+import com.my.jobsearcher.view.services.VacancyLoader;
+import com.my.jobsearcher.view.services.parsers.Parser;
+import com.my.jobsearcher.view.services.resilience.SourceGuard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Parsed vacancy lists keyed by (source, canonical request). Entries older than
+ * {@code refresh-after} are served as they are while a background refresh runs, empty and
+ * failed results, including last-known-good fallbacks, are kept for the shorter {@code negative-ttl}. Eviction is Caffeine's
+ * W-TinyLFU, bounded by the total number of cached cards.
+ */
+@Slf4j
+@Component
+public class VacancyCache {
+
+    private final Map<Source, Parser> parsers = new EnumMap<>(Source.class);
+    private final VacancyLoader vacancyLoader;
+    private final SourceGuard sourceGuard;
+    private final VacancyStore vacancyStore;
+    private final AsyncLoadingCache<SourceQuery, CachedVacancies> cache;
+
+    public VacancyCache(List<Parser> parsers,
+                        VacancyLoader vacancyLoader,
+                        SourceGuard sourceGuard,
+                        VacancyStore vacancyStore,
+                        ExecutorService fetchExecutor,
+                        CacheProperties properties) {
+        parsers.forEach(parser -> this.parsers.put(parser.getSource(), parser));
+        this.vacancyLoader = vacancyLoader;
+        this.sourceGuard = sourceGuard;
+        this.vacancyStore = vacancyStore;
+        this.cache = Caffeine.newBuilder()
+                .executor(fetchExecutor)
+                .maximumWeight(properties.getMaximumVacancies())
+                .weigher((SourceQuery query, CachedVacancies value) -> value.vacancies().size() + 1)
+                .expireAfter(new TtlExpiry(properties))
+                .refreshAfterWrite(properties.getRefreshAfter())
+                .buildAsync(new Loader());
+    }
+
+    /**
+     * Returns the cached entries for the given queries, loading the missing ones together so that
+     * queries sharing a fetch key cost one upstream fetch.
+     */
+    public CompletableFuture<Map<SourceQuery, CachedVacancies>> getAll(Collection<SourceQuery> queries) {
+        return cache.getAll(queries);
+    }
+
+    /**
+     * The entries already loaded for the given queries; queries still loading or not cached are
+     * left out. Stale entries are returned and refreshed in the background like on {@link #getAll}.
+     */
+    public Map<SourceQuery, CachedVacancies> getAllPresent(Collection<SourceQuery> queries) {
+        Map<SourceQuery, CachedVacancies> present = new HashMap<>();
+        for (SourceQuery query : queries) {
+            CompletableFuture<CachedVacancies> entry = cache.getIfPresent(query);
+            if (entry != null && entry.isDone() && !entry.isCompletedExceptionally()) {
+                present.put(query, entry.join());
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Records vacancies loaded outside the cache, e.g. by the reactive pipeline, in the store and
+     * the cache.
+     */
+    public void put(SourceQuery query, List<ResponseDto> vacancies) {
+        vacancyStore.put(query, vacancies);
+        cache.put(query, CompletableFuture.completedFuture(CachedVacancies.of(vacancies)));
+    }
+
+    /**
+     * The last snapshot stored for the query as a failed entry, or an empty failure without one.
+     */
+    public CachedVacancies lastKnownGood(SourceQuery query) {
+        return vacancyStore.get(query)
+                .map(snapshot -> CachedVacancies.fallback(snapshot.vacancies()))
+                .orElseGet(CachedVacancies::failure);
+    }
+
+    /**
+     * Loads run on the bulkhead of their source. While a source is unavailable, its queries are
+     * answered with the last snapshot stored for them, if any.
+     */
+    private class Loader implements AsyncCacheLoader<SourceQuery, CachedVacancies> {
+
+        @Override
+        public CompletableFuture<CachedVacancies> asyncLoad(SourceQuery query, Executor executor) {
+            return asyncLoadAll(Set.of(query), executor).thenApply(loaded -> loaded.get(query));
+        }
+
+        @Override
+        public CompletableFuture<Map<SourceQuery, CachedVacancies>> asyncLoadAll(Set<? extends SourceQuery> queries,
+                                                                                 Executor executor) {
+            Map<Parser, Map<String, List<VacancyRequest>>> byFetchKey = new HashMap<>();
+            for (SourceQuery query : queries) {
+                Parser parser = parsers.get(query.source());
+                byFetchKey.computeIfAbsent(parser, key -> new LinkedHashMap<>())
+                        .computeIfAbsent(parser.getFetchKey(query.request()), key -> new ArrayList<>())
+                        .add(query.request());
+            }
+
+            Map<SourceQuery, CachedVacancies> loaded = new ConcurrentHashMap<>();
+            List<CompletableFuture<?>> fetches = new ArrayList<>();
+            byFetchKey.forEach((parser, requests) -> requests.forEach((fetchKey, canonicalRequests) -> {
+                Source source = parser.getSource();
+                fetches.add(sourceGuard.submit(source, () -> vacancyLoader.load(parser, fetchKey, canonicalRequests))
+                        .handle((vacancies, e) -> {
+                            if (e == null) {
+                                vacancies.forEach((request, cards) -> {
+                                    SourceQuery query = new SourceQuery(source, request);
+                                    vacancyStore.put(query, cards);
+                                    loaded.put(query, CachedVacancies.of(cards));
+                                });
+                                return null;
+                            }
+                            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                            log.warn("Failed to load {}: {}", fetchKey, cause.getMessage());
+                            canonicalRequests.forEach(request -> {
+                                SourceQuery query = new SourceQuery(source, request);
+                                loaded.put(query, lastKnownGood(query));
+                            });
+                            return null;
+                        }));
+            }));
+            return CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new)).thenApply(ignored -> loaded);
+        }
+
+        /**
+         * A failed refresh keeps serving the last good entry rather than replacing it with a failure.
+         */
+        @Override
+        public CompletableFuture<CachedVacancies> asyncReload(SourceQuery query,
+                                                              CachedVacancies oldValue,
+                                                              Executor executor) {
+            return asyncLoad(query, executor)
+                    .thenApply(reloaded -> reloaded.failed() && !oldValue.failed() ? oldValue : reloaded);
+        }
+    }
+
+    private record TtlExpiry(CacheProperties properties) implements Expiry<SourceQuery, CachedVacancies> {
+
+        @Override
+        public long expireAfterCreate(SourceQuery query, CachedVacancies value, long currentTime) {
+            return value.isNegative()
+                    ? properties.getNegativeTtl().toNanos()
+                    : properties.getExpireAfter().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(SourceQuery query, CachedVacancies value, long currentTime, long currentDuration) {
+            return expireAfterCreate(query, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(SourceQuery query, CachedVacancies value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
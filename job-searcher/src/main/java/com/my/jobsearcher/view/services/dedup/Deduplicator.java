@@ -0,0 +1,40 @@
+package com.my.jobsearcher.view.services.dedup;
+
+import com.my.jobsearcher.config.DedupProperties;
+import com.my.jobsearcher.store.dto.ResponseDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Collapses near-duplicate vacancies, typically one job posted on several boards, into a single
+ * result listing every posting's URL.
+ */
+@Component
+public class Deduplicator {
+
+    private final DedupProperties properties;
+
+    public Deduplicator(DedupProperties properties) {
+        this.properties = properties;
+    }
+
+    public List<ResponseDto> collapse(Collection<ResponseDto> vacancies) {
+        if (!properties.isEnabled()) {
+            return new ArrayList<>(vacancies);
+        }
+        NearDuplicates nearDuplicates = session();
+        nearDuplicates.add(vacancies);
+        return nearDuplicates.collapsed();
+    }
+
+    /**
+     * Clustering state for a response sent in batches, where each batch only carries the
+     * vacancies that are not near-duplicates of earlier ones.
+     */
+    public NearDuplicates session() {
+        return new NearDuplicates(properties.isEnabled() ? properties.getMaxDistance() : -1);
+    }
+}
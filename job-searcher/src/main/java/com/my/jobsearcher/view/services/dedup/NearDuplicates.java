@@ -0,0 +1,134 @@
+package com.my.jobsearcher.view.services.dedup;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups the vacancies of one response into clusters of near-duplicates.
+ * <p>
+ * Fingerprints are split into {@code maxDistance + 1} bands; two fingerprints within
+ * {@code maxDistance} bits agree on at least one whole band, so only vacancies sharing a band
+ * are compared.
+ */
+public class NearDuplicates {
+
+    private final int maxDistance;
+    private final int bands;
+    private final List<Cluster> clusters = new ArrayList<>();
+    private final Map<Long, List<Cluster>> byBand = new HashMap<>();
+    private final Set<Long> ids = new HashSet<>();
+
+    NearDuplicates(int maxDistance) {
+        this.maxDistance = maxDistance;
+        this.bands = Math.min(Long.SIZE, maxDistance + 1);
+    }
+
+    /**
+     * Adds the vacancies and returns those that start a new cluster, i.e. are neither a repeat of
+     * a vacancy added before nor a near-duplicate of one.
+     */
+    public synchronized List<ResponseDto> add(Collection<ResponseDto> vacancies) {
+        List<ResponseDto> added = new ArrayList<>();
+        for (ResponseDto vacancy : vacancies) {
+            if (!ids.add(vacancy.getId())) {
+                continue;
+            }
+            long fingerprint = SimHash.fingerprint(vacancy);
+            Cluster cluster = find(fingerprint);
+            if (cluster != null) {
+                cluster.members.add(vacancy);
+                continue;
+            }
+            cluster = new Cluster(fingerprint);
+            cluster.members.add(vacancy);
+            clusters.add(cluster);
+            for (int band = 0; band < bands; band++) {
+                byBand.computeIfAbsent(bandKey(fingerprint, band), key -> new ArrayList<>()).add(cluster);
+            }
+            added.add(vacancy);
+        }
+        return added;
+    }
+
+    /**
+     * One vacancy per cluster, in the order the clusters were started: the member with the
+     * longest description, listing the URLs of every member when there are several.
+     */
+    public synchronized List<ResponseDto> collapsed() {
+        List<ResponseDto> collapsed = new ArrayList<>(clusters.size());
+        for (Cluster cluster : clusters) {
+            collapsed.add(cluster.collapse());
+        }
+        return collapsed;
+    }
+
+    private Cluster find(long fingerprint) {
+        for (int band = 0; band < bands; band++) {
+            List<Cluster> candidates = byBand.get(bandKey(fingerprint, band));
+            if (candidates == null) {
+                continue;
+            }
+            for (Cluster candidate : candidates) {
+                if (SimHash.distance(candidate.fingerprint, fingerprint) <= maxDistance) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private long bandKey(long fingerprint, int band) {
+        int from = band * Long.SIZE / bands;
+        int to = (band + 1) * Long.SIZE / bands;
+        long mask = to - from == Long.SIZE ? -1L : (1L << (to - from)) - 1;
+        return (fingerprint >>> from & mask) << 8 | band;
+    }
+
+    private static final class Cluster {
+        private final long fingerprint;
+        private final List<ResponseDto> members = new ArrayList<>(1);
+
+        private Cluster(long fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private ResponseDto collapse() {
+            ResponseDto first = members.get(0);
+            if (members.size() == 1) {
+                return first;
+            }
+            ResponseDto richest = first;
+            String companyImage = "";
+            Set<String> sourceUrls = new LinkedHashSet<>();
+            for (ResponseDto member : members) {
+                if (length(member.getDescription()) > length(richest.getDescription())) {
+                    richest = member;
+                }
+                if (companyImage.isEmpty() && member.getCompanyImage() != null) {
+                    companyImage = member.getCompanyImage();
+                }
+                sourceUrls.add(member.getUrl());
+            }
+            return ResponseDto.builder()
+                    .jobTitle(richest.getJobTitle())
+                    .url(richest.getUrl())
+                    .company(richest.getCompany())
+                    .description(richest.getDescription())
+                    .companyImage(length(richest.getCompanyImage()) > 0 ? richest.getCompanyImage() : companyImage)
+                    .sourceUrls(new ArrayList<>(sourceUrls))
+                    .build();
+        }
+
+        private static int length(String text) {
+            return text == null ? 0 : text.length();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.my.jobsearcher.view.services.dedup;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.index.Hashing;
+import com.my.jobsearcher.store.index.Tokenizer;
+
+import java.util.List;
+
+/**
+ * 64-bit SimHash of a vacancy's normalized title, company and description. Postings of the same
+ * job differ in a few bits at most, unrelated postings in about half of them.
+ * <p>
+ * Title words and the company weigh most, since boards copy those verbatim. Description word
+ * triples fill in the rest; they are capped at the weight of the title and company together, so
+ * a long description on one board and none on another still come out close.
+ */
+public final class SimHash {
+
+    private static final int TITLE_WEIGHT = 4;
+    private static final int COMPANY_WEIGHT = 6;
+    private static final int SHINGLE_SIZE = 3;
+    private static final int MAX_DESCRIPTION_TOKENS = 64;
+
+    private SimHash() {
+    }
+
+    public static long fingerprint(ResponseDto vacancy) {
+        long[] sums = new long[Long.SIZE];
+        List<String> title = Tokenizer.tokenize(vacancy.getJobTitle());
+        List<String> company = Tokenizer.tokenize(vacancy.getCompany());
+        title.forEach(token -> add(sums, "t:" + token, TITLE_WEIGHT));
+        if (!company.isEmpty()) {
+            add(sums, "c:" + String.join(" ", company), COMPANY_WEIGHT);
+        }
+
+        List<String> description = Tokenizer.tokenize(vacancy.getDescription());
+        description = description.subList(0, Math.min(description.size(), MAX_DESCRIPTION_TOKENS));
+        int shingles = description.size() - SHINGLE_SIZE + 1;
+        if (shingles > 0) {
+            int budget = title.size() * TITLE_WEIGHT + (company.isEmpty() ? 0 : COMPANY_WEIGHT);
+            double weight = Math.min(1, (double) budget / shingles);
+            for (int i = 0; i < shingles; i++) {
+                add(sums, "d:" + String.join(" ", description.subList(i, i + SHINGLE_SIZE)), weight);
+            }
+        }
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (sums[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static void add(long[] sums, String feature, double weight) {
+        long hash = Hashing.hash64(feature);
+        // fixed point, so fractional description weights still count
+        long scaled = Math.round(weight * 1000);
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            sums[bit] += (hash >>> bit & 1) == 1 ? scaled : -scaled;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.my.jobsearcher.view.services.fetch;
+
+/**
+ * Result of a conditional download.
+ *
+ * @param body    the page, or {@code null} when the server answered 304 Not Modified
+ * @param changed whether the page differs from the version the request was made against
+ */
+public record FetchedPage(String body, PageVersion version, boolean changed) {
+}
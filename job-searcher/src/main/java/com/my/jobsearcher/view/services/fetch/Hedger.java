@@ -0,0 +1,69 @@
+package com.my.jobsearcher.view.services.fetch;
+
+import com.my.jobsearcher.config.HedgingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when a request is hedged: once it has run longer than its host's observed latency
+ * percentile, and only while the global budget has room. Every regular request earns
+ * {@code budget} of a hedge, a hedge spends a whole one.
+ */
+@Slf4j
+@Component
+public class Hedger {
+
+    private static final double MAX_CREDITS = 10;
+
+    private final ConcurrentMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final HedgingProperties properties;
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+    private double credits;
+
+    public Hedger(HedgingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Nanoseconds to wait before hedging a request to the host, or {@code -1} to not hedge it.
+     */
+    public long delayFor(String host) {
+        if (!properties.isEnabled()) {
+            return -1;
+        }
+        synchronized (this) {
+            credits = Math.min(MAX_CREDITS, credits + properties.getBudget());
+        }
+        long percentile = window(host).percentile(properties.getPercentile(), properties.getMinimumSamples());
+        return percentile < 0 ? -1 : Math.max(percentile, properties.getMinimumDelay().toNanos());
+    }
+
+    /**
+     * Takes a hedge from the budget if one is left.
+     */
+    public synchronized boolean tryHedge() {
+        if (credits < 1) {
+            return false;
+        }
+        credits -= 1;
+        hedged.incrementAndGet();
+        return true;
+    }
+
+    public void record(String host, long nanos, boolean hedgeWon) {
+        window(host).record(nanos);
+        if (hedgeWon) {
+            long won = hedgesWon.incrementAndGet();
+            log.debug("Hedge to {} won after {} ms ({} of {} hedges won)", host, nanos / 1_000_000, won, hedged.get());
+        }
+    }
+
+    private LatencyWindow window(String host) {
+        return latencies.computeIfAbsent(host, key -> new LatencyWindow(properties.getWindow()));
+    }
+}
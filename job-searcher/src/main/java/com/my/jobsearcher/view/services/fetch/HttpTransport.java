@@ -0,0 +1,272 @@
+package com.my.jobsearcher.view.services.fetch;
+
+import com.my.jobsearcher.config.HttpProperties;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.enums.Employment;
+import com.my.jobsearcher.store.enums.Experience;
+import com.my.jobsearcher.store.enums.Language;
+import com.my.jobsearcher.view.services.parsers.PageRequest;
+import com.my.jobsearcher.view.services.parsers.Parser;
+import com.my.jobsearcher.view.services.ratelimit.Outcome;
+import com.my.jobsearcher.view.services.ratelimit.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The one HTTP client every page download goes through. It negotiates HTTP/2 where the source
+ * supports it and falls back to HTTP/1.1. Connections are kept alive and pooled per host. Bodies
+ * are requested compressed, and sources are connected to once at startup.
+ * <p>
+ * With hedging enabled, a GET still running after its host's observed latency percentile is sent
+ * again on a separate client, so on a new connection, and the first response wins.
+ */
+@Slf4j
+@Component
+public class HttpTransport {
+
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private final HttpClient client;
+    private final HttpClient hedgeClient;
+    private final HttpProperties properties;
+    private final List<Parser> parsers;
+    private final RateLimiter rateLimiter;
+    private final Hedger hedger;
+
+    public HttpTransport(HttpProperties properties, List<Parser> parsers, RateLimiter rateLimiter, Hedger hedger) {
+        this.properties = properties;
+        this.parsers = parsers;
+        this.rateLimiter = rateLimiter;
+        this.hedger = hedger;
+        this.client = newClient(properties);
+        this.hedgeClient = newClient(properties);
+    }
+
+    /**
+     * Sends the page request with the configured User-Agent and the given extra headers, once the
+     * host's rate limit allows it. Error statuses are returned like any other response.
+     */
+    public TransportResponse send(Parser parser, PageRequest page, Map<String, String> headers) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(page.url()))
+                .timeout(properties.getReadTimeout())
+                .header("User-Agent", properties.getUserAgent())
+                .header("Accept-Encoding", ACCEPT_ENCODING);
+        page.headers().forEach(request::header);
+        headers.forEach(request::header);
+        if (page.isPost()) {
+            request.header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(formBody(page.form())));
+        } else {
+            request.GET();
+        }
+
+        String host = rateLimiter.acquire(page.url());
+        Outcome outcome = Outcome.FAILED;
+        try {
+            HttpResponse<byte[]> response = page.isPost()
+                    ? client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                    : sendHedged(request.build(), host);
+            outcome = RateLimiter.outcomeOf(response.statusCode());
+            return new TransportResponse(response.statusCode(), response.headers(), decode(response));
+        } catch (HttpTimeoutException e) {
+            throw new UncheckedIOException("Timed out fetching " + page.url(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to fetch " + page.url() + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching " + page.url(), e);
+        } finally {
+            rateLimiter.release(host, outcome);
+        }
+    }
+
+    /**
+     * Sends the request and, if it is still running after the host's hedging delay and the budget
+     * allows, a duplicate of it. The first successful response is returned and the other exchange
+     * is cancelled. A hedge that finds the host's rate limit exhausted is not sent.
+     * <p>
+     * Only the primary attempt's latency, measured from its own start, goes into the host's
+     * window: a winning hedge's shorter time would pull the percentile down and cause more
+     * hedging. A primary cancelled because the hedge won is recorded with the time it ran, which
+     * is already past the hedging delay.
+     */
+    private HttpResponse<byte[]> sendHedged(HttpRequest request, String host) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> primary = client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        AtomicLong primaryNanos = new AtomicLong(-1);
+        primary.whenComplete((response, e) -> primaryNanos.compareAndSet(-1, System.nanoTime() - started));
+        long delay = hedger.delayFor(host);
+        if (delay < 0) {
+            return record(host, primaryNanos, started, await(primary), false);
+        }
+        try {
+            return record(host, primaryNanos, started, primary.get(delay, TimeUnit.NANOSECONDS), false);
+        } catch (TimeoutException e) {
+            // slower than the host usually is, hedge below
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+
+        String hedgeHost = hedger.tryHedge() ? rateLimiter.tryAcquire(request.uri().toString()) : null;
+        if (hedgeHost == null) {
+            return record(host, primaryNanos, started, await(primary), false);
+        }
+        CompletableFuture<HttpResponse<byte[]>> hedge = hedgeClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        hedge.whenComplete((response, e) -> rateLimiter.release(hedgeHost,
+                response != null ? RateLimiter.outcomeOf(response.statusCode()) : Outcome.FAILED));
+
+        CompletableFuture<HttpResponse<byte[]>> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<HttpResponse<byte[]>> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((response, e) -> {
+                if (e == null) {
+                    first.complete(response);
+                } else if (failures.incrementAndGet() == 2) {
+                    first.completeExceptionally(e);
+                }
+            });
+        }
+        try {
+            HttpResponse<byte[]> response = await(first);
+            return record(host, primaryNanos, started, response,
+                    hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.join() == response);
+        } finally {
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
+    }
+
+    private HttpResponse<byte[]> record(String host,
+                                        AtomicLong primaryNanos,
+                                        long started,
+                                        HttpResponse<byte[]> response,
+                                        boolean hedgeWon) {
+        // still running means the hedge won; the primary is charged with the time it ran so far
+        primaryNanos.compareAndSet(-1, System.nanoTime() - started);
+        hedger.record(host, primaryNanos.get(), hedgeWon);
+        return response;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException(cause);
+    }
+
+    private static HttpClient newClient(HttpProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+    }
+
+    /**
+     * Opens a connection to every source so that the first searches skip DNS, TCP and TLS setup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isWarmUp()) {
+            return;
+        }
+        VacancyRequest sample = new VacancyRequest(Language.values()[0], Experience.ALL, Employment.BOTH);
+        for (Parser parser : parsers) {
+            URI origin = URI.create(parser.getFetchKey(parser.canonicalize(sample))).resolve("/");
+            HttpRequest request = HttpRequest.newBuilder(origin)
+                    .timeout(properties.getReadTimeout())
+                    .header("User-Agent", properties.getUserAgent())
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        if (e != null) {
+                            log.debug("Warm-up of {} failed: {}", origin, e.toString());
+                        } else {
+                            log.debug("Warmed up {} over {}", origin, response.version());
+                        }
+                    });
+        }
+    }
+
+    private static String decode(HttpResponse<byte[]> response) throws IOException {
+        byte[] body = response.body();
+        if (body.length == 0) {
+            // 304 and HEAD answers carry the encoding header of a body they do not have
+            return "";
+        }
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        InputStream in = switch (encoding.toLowerCase()) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(new ByteArrayInputStream(body));
+            case "deflate" -> new InflaterInputStream(new ByteArrayInputStream(body));
+            default -> null;
+        };
+        if (in != null) {
+            try (in) {
+                body = in.readAllBytes();
+            }
+        }
+        return new String(body, charset(response));
+    }
+
+    private static Charset charset(HttpResponse<?> response) {
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        for (String parameter : contentType.split(";")) {
+            String[] pair = parameter.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].equalsIgnoreCase("charset")) {
+                try {
+                    return Charset.forName(pair[1].replace("\"", "").trim());
+                } catch (IllegalArgumentException e) {
+                    break;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static String formBody(Map<String, String> form) {
+        return form.entrySet().stream()
+                .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8)
+                        + "=" + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+}
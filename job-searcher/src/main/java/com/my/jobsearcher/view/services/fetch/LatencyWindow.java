@@ -0,0 +1,36 @@
+package com.my.jobsearcher.view.services.fetch;
+
+import java.util.Arrays;
+
+/**
+ * The most recent request latencies of one host.
+ */
+class LatencyWindow {
+
+    private final long[] latencies;
+    private int next;
+    private int recorded;
+
+    LatencyWindow(int size) {
+        this.latencies = new long[size];
+    }
+
+    synchronized void record(long nanos) {
+        latencies[next] = nanos;
+        next = (next + 1) % latencies.length;
+        recorded = Math.min(recorded + 1, latencies.length);
+    }
+
+    /**
+     * The given percentile in nanoseconds, or {@code -1} while fewer than {@code minimumSamples}
+     * latencies are recorded.
+     */
+    synchronized long percentile(double percentile, int minimumSamples) {
+        if (recorded < Math.max(1, minimumSamples)) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencies, recorded);
+        Arrays.sort(sorted);
+        return sorted[Math.min(recorded - 1, (int) Math.ceil(percentile * recorded) - 1)];
+    }
+}
@@ -0,0 +1,123 @@
+package com.my.jobsearcher.view.services.fetch;
+
+import com.my.jobsearcher.config.PaginationProperties;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.view.services.parsers.PageRequest;
+import com.my.jobsearcher.view.services.parsers.Parser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Fetch step shared by every caller of the parsers. Identical pages requested while a download
+ * is already running wait for that download instead of hitting the source again.
+ * <p>
+ * Downloads are conditional: given the version of the last download, the server's validators
+ * are sent back, and a page the server returns in full anyway is compared by content hash.
+ */
+@Slf4j
+@Component
+public class PageFetcher {
+
+    private static final int NOT_MODIFIED = 304;
+
+    private final SingleFlight<String, FetchedPage> singleFlight = new SingleFlight<>();
+    private final Map<Source, Semaphore> pagePermits = new EnumMap<>(Source.class);
+    private final ExecutorService pageExecutor;
+    private final HttpTransport transport;
+
+    public PageFetcher(ExecutorService pageExecutor, HttpTransport transport, PaginationProperties properties) {
+        this.pageExecutor = pageExecutor;
+        this.transport = transport;
+        for (Source source : Source.values()) {
+            pagePermits.put(source, new Semaphore(properties.concurrencyFor(source)));
+        }
+    }
+
+    /**
+     * Downloads a page unless it is unchanged since {@code known}, which may be {@code null}
+     * to download unconditionally.
+     */
+    public FetchedPage fetch(Parser parser, PageRequest page, PageVersion known) {
+        return singleFlight.execute(page.key(), () -> download(parser, page, known));
+    }
+
+    /**
+     * Downloads the given follow-up pages concurrently, never more of one source at a time than its
+     * pagination concurrency allows. Results are returned in request order; a page that fails is
+     * logged and left out so the pages before it are still used.
+     */
+    public Map<PageRequest, FetchedPage> fetchAll(Parser parser,
+                                                  List<PageRequest> pages,
+                                                  Function<PageRequest, PageVersion> known) {
+        Semaphore permits = pagePermits.get(parser.getSource());
+        List<CompletableFuture<FetchedPage>> downloads = new ArrayList<>();
+        for (PageRequest page : pages) {
+            downloads.add(CompletableFuture.supplyAsync(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    return fetch(parser, page, known.apply(page));
+                } finally {
+                    permits.release();
+                }
+            }, pageExecutor));
+        }
+
+        Map<PageRequest, FetchedPage> fetched = new LinkedHashMap<>();
+        for (int i = 0; i < downloads.size(); i++) {
+            try {
+                fetched.put(pages.get(i), downloads.get(i).join());
+            } catch (RuntimeException e) {
+                log.warn("Skipping {}: {}", pages.get(i).url(), e.getMessage());
+            }
+        }
+        return fetched;
+    }
+
+    private FetchedPage download(Parser parser, PageRequest page, PageVersion known) {
+        Map<String, String> conditions = new HashMap<>();
+        if (known != null && known.etag() != null) {
+            conditions.put("If-None-Match", known.etag());
+        }
+        if (known != null && known.lastModified() != null) {
+            conditions.put("If-Modified-Since", known.lastModified());
+        }
+
+        TransportResponse response = transport.send(parser, page, conditions);
+        if (response.statusCode() == NOT_MODIFIED && known != null) {
+            return new FetchedPage(null, known, false);
+        }
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " fetching " + page.url());
+        }
+
+        String body = response.body();
+        PageVersion version = new PageVersion(response.header("ETag"), response.header("Last-Modified"), hash(body));
+        boolean changed = known == null || !Objects.equals(known.contentHash(), version.contentHash());
+        return new FetchedPage(body, version, changed);
+    }
+
+    private static String hash(String body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
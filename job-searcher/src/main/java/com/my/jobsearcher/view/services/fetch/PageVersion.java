@@ -0,0 +1,8 @@
+package com.my.jobsearcher.view.services.fetch;
+
+/**
+ * What is known about the last download of a page: the validators the server sent, if any,
+ * and a hash of the body for servers that send none.
+ */
+public record PageVersion(String etag, String lastModified, String contentHash) {
+}
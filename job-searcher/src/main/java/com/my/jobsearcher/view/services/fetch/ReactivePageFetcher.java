@@ -0,0 +1,84 @@
+package com.my.jobsearcher.view.services.fetch;
+
+import com.my.jobsearcher.view.services.parsers.PageRequest;
+import com.my.jobsearcher.view.services.parsers.Parser;
+import com.my.jobsearcher.view.services.ratelimit.Outcome;
+import com.my.jobsearcher.view.services.ratelimit.RateLimiter;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Non-blocking counterpart of {@link PageFetcher}. Subscribers asking for a page that is already
+ * being downloaded share that download. Requests obey the same per-host {@link RateLimiter}.
+ */
+@Component
+public class ReactivePageFetcher {
+
+    private final ConcurrentMap<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+    private final WebClient scraperWebClient;
+    private final RateLimiter rateLimiter;
+
+    public ReactivePageFetcher(WebClient scraperWebClient, RateLimiter rateLimiter) {
+        this.scraperWebClient = scraperWebClient;
+        this.rateLimiter = rateLimiter;
+    }
+
+    public Mono<String> fetch(Parser parser, String fetchKey) {
+        return fetchPage(parser, PageRequest.get(fetchKey));
+    }
+
+    /**
+     * Downloads a follow-up result page described by the parser.
+     */
+    public Mono<String> fetchPage(Parser parser, PageRequest page) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(page.key(), key -> limited(page.url(), download(parser, page))
+                .doFinally(signal -> inFlight.remove(key))
+                .cache()));
+    }
+
+    /**
+     * Waits for the host's rate limit on a timer, so neither the event loop nor a worker thread
+     * blocks, and reports the outcome back once the request ends or is cancelled.
+     */
+    private Mono<String> limited(String url, Mono<String> request) {
+        return rateLimiter.acquireLater(url).flatMap(host -> {
+            AtomicReference<Outcome> outcome = new AtomicReference<>(Outcome.FAILED);
+            return request
+                    .doOnSuccess(body -> outcome.set(Outcome.SUCCESS))
+                    .doOnError(e -> outcome.set(outcomeOf(e)))
+                    .doFinally(signal -> rateLimiter.release(host, outcome.get()));
+        });
+    }
+
+    private Mono<String> download(Parser parser, PageRequest page) {
+        // fetch keys are already encoded, so they must not go through the URI template
+        WebClient.RequestBodySpec request = scraperWebClient.method(page.isPost() ? HttpMethod.POST : HttpMethod.GET)
+                .uri(URI.create(page.url()))
+                .headers(headers -> page.headers().forEach(headers::set));
+        if (page.isPost()) {
+            MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+            page.form().forEach(form::add);
+            request.body(BodyInserters.fromFormData(form));
+        }
+        return request.retrieve().bodyToMono(String.class);
+    }
+
+    private static Outcome outcomeOf(Throwable e) {
+        // a timeout is a slow answer, not a request to slow down, so it leaves the limit alone
+        if (e instanceof WebClientResponseException response) {
+            return RateLimiter.outcomeOf(response.getStatusCode().value());
+        }
+        return Outcome.FAILED;
+    }
+}
@@ -0,0 +1,13 @@
+package com.my.jobsearcher.view.services.fetch;
+
+import java.net.http.HttpHeaders;
+
+/**
+ * A response of {@link HttpTransport} with its body already decompressed and decoded.
+ */
+public record TransportResponse(int statusCode, HttpHeaders headers, String body) {
+
+    public String header(String name) {
+        return headers.firstValue(name).orElse(null);
+    }
+}
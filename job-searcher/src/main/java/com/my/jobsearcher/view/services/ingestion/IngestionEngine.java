@@ -0,0 +1,185 @@
+package com.my.jobsearcher.view.services.ingestion;
+
+import com.my.jobsearcher.config.IngestionProperties;
+import com.my.jobsearcher.store.dto.IngestionStatusDto;
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.entities.SourceQuery;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.enums.Employment;
+import com.my.jobsearcher.store.enums.Experience;
+import com.my.jobsearcher.store.enums.Language;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.store.repositories.VacancyStore;
+import com.my.jobsearcher.view.services.VacancyLoader;
+import com.my.jobsearcher.view.services.parsers.Parser;
+import com.my.jobsearcher.view.services.planner.FetchPlan;
+import com.my.jobsearcher.view.services.planner.PlannedFetch;
+import com.my.jobsearcher.view.services.planner.QueryPlanner;
+import com.my.jobsearcher.view.services.registry.SourceRegistry;
+import com.my.jobsearcher.view.services.resilience.SourceGuard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps {@link VacancyStore} fresh for every Language × Experience × Employment combination.
+ * Enabled sources are crawled in parallel, each one sequentially with a politeness delay between fetches.
+ * Every fetch goes through the source's {@link SourceGuard}, and freshness is tracked per query, so a
+ * failed fetch only leaves its own queries on their last-known-good snapshot.
+ */
+@Slf4j
+@Component
+public class IngestionEngine {
+
+    private final SourceRegistry sourceRegistry;
+    private final QueryPlanner queryPlanner;
+    private final VacancyLoader vacancyLoader;
+    private final VacancyStore vacancyStore;
+    private final SourceGuard sourceGuard;
+    private final ExecutorService ingestionExecutor;
+    private final IngestionProperties properties;
+    private final Map<Source, SourceProgress> progress = new EnumMap<>(Source.class);
+    private final Map<SourceQuery, Instant> refreshedAt = new ConcurrentHashMap<>();
+    private final AtomicBoolean crawling = new AtomicBoolean();
+
+    public IngestionEngine(List<Parser> parsers,
+                           SourceRegistry sourceRegistry,
+                           QueryPlanner queryPlanner,
+                           VacancyLoader vacancyLoader,
+                           VacancyStore vacancyStore,
+                           SourceGuard sourceGuard,
+                           ExecutorService ingestionExecutor,
+                           IngestionProperties properties) {
+        this.sourceRegistry = sourceRegistry;
+        this.queryPlanner = queryPlanner;
+        this.vacancyLoader = vacancyLoader;
+        this.vacancyStore = vacancyStore;
+        this.sourceGuard = sourceGuard;
+        this.ingestionExecutor = ingestionExecutor;
+        this.properties = properties;
+        parsers.forEach(parser -> progress.put(parser.getSource(), new SourceProgress(parser.getSource())));
+    }
+
+    /**
+     * Starts a crawl of every enabled source on the ingestion executor and returns right away, so
+     * the scheduler thread stays free for other scheduled work. A crawl still running when the
+     * next one is due is left to finish and the new one is skipped.
+     */
+    @Scheduled(initialDelayString = "${searcher.ingestion.initial-delay:PT10S}",
+            fixedDelayString = "${searcher.ingestion.interval:PT30M}")
+    public void crawl() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!crawling.compareAndSet(false, true)) {
+            log.info("Previous crawl still running, skipping this one");
+            return;
+        }
+        try {
+            List<VacancyRequest> allRequests = allRequests();
+            CompletableFuture.allOf(sourceRegistry.parsers(null).stream()
+                            .map(parser -> CompletableFuture.runAsync(() -> crawl(parser, allRequests), ingestionExecutor))
+                            .toArray(CompletableFuture[]::new))
+                    .whenComplete((ignored, e) -> crawling.set(false));
+        } catch (RuntimeException e) {
+            crawling.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Whether each of the queries was refreshed by a crawl within {@code maxAge}.
+     */
+    public boolean isFresh(Duration maxAge, Collection<SourceQuery> queries) {
+        return freshFor(maxAge, queries).isPositive();
+    }
+
+    /**
+     * How much longer every one of the queries keeps a crawled result within {@code maxAge}, zero
+     * when one of them has none.
+     */
+    public Duration freshFor(Duration maxAge, Collection<SourceQuery> queries) {
+        Instant now = Instant.now();
+        Duration remaining = maxAge;
+        for (SourceQuery query : queries) {
+            Instant refresh = refreshedAt.get(query);
+            if (refresh == null) {
+                return Duration.ZERO;
+            }
+            Duration left = Duration.between(now, refresh.plus(maxAge));
+            if (!left.isPositive()) {
+                return Duration.ZERO;
+            }
+            if (left.compareTo(remaining) < 0) {
+                remaining = left;
+            }
+        }
+        return remaining;
+    }
+
+    public List<IngestionStatusDto> getStatus() {
+        return progress.values().stream().map(SourceProgress::toDto).toList();
+    }
+
+    private void crawl(Parser parser, List<VacancyRequest> allRequests) {
+        Source source = parser.getSource();
+        FetchPlan plan = queryPlanner.plan(allRequests, List.of(parser));
+        SourceProgress sourceProgress = progress.get(source);
+        sourceProgress.start(plan.fetches().size());
+        log.info("Crawling {}: {} fetches", source, plan.fetches().size());
+
+        try {
+            for (PlannedFetch plannedFetch : plan.fetches()) {
+                try {
+                    Map<VacancyRequest, List<ResponseDto>> vacancies = sourceGuard.submit(source,
+                            () -> vacancyLoader.load(parser, plannedFetch.fetchKey(), plannedFetch.routes().keySet()))
+                            .join();
+                    Instant fetchedAt = Instant.now();
+                    vacancies.forEach((canonical, cards) -> {
+                        SourceQuery query = new SourceQuery(source, canonical);
+                        vacancyStore.put(query, cards);
+                        refreshedAt.put(query, fetchedAt);
+                    });
+                    sourceProgress.completed();
+                } catch (RuntimeException e) {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.warn("Crawl of {} failed: {}", plannedFetch.fetchKey(), cause.getMessage());
+                    sourceProgress.failed();
+                }
+                Thread.sleep(properties.delayFor(source).toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sourceProgress.finish();
+        }
+    }
+
+    /**
+     * Every Language × Experience × Employment combination, the requests a crawl covers.
+     */
+    public static List<VacancyRequest> allRequests() {
+        List<VacancyRequest> requests = new ArrayList<>();
+        for (Language language : Language.values()) {
+            for (Experience experience : Experience.values()) {
+                for (Employment employment : Employment.values()) {
+                    requests.add(new VacancyRequest(language, experience, employment));
+                }
+            }
+        }
+        return requests;
+    }
+}
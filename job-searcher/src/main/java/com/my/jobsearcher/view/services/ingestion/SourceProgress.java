@@ -0,0 +1,69 @@
+package com.my.jobsearcher.view.services.ingestion;
+
+import com.my.jobsearcher.store.dto.IngestionStatusDto;
+import com.my.jobsearcher.store.enums.Source;
+
+import java.time.Instant;
+
+/**
+ * Crawl progress of one source, updated by its crawler thread and read by status requests.
+ */
+class SourceProgress {
+
+    private final Source source;
+    private boolean running;
+    private int plannedFetches;
+    private int completedFetches;
+    private int failedFetches;
+    private Instant lastStartedAt;
+    private Instant lastCompletedAt;
+    private Instant lastSuccessfulRefresh;
+
+    SourceProgress(Source source) {
+        this.source = source;
+    }
+
+    synchronized void start(int plannedFetches) {
+        this.running = true;
+        this.plannedFetches = plannedFetches;
+        this.completedFetches = 0;
+        this.failedFetches = 0;
+        this.lastStartedAt = Instant.now();
+    }
+
+    synchronized void completed() {
+        completedFetches++;
+    }
+
+    synchronized void failed() {
+        failedFetches++;
+    }
+
+    /**
+     * A pass counts as a successful refresh only when every planned fetch succeeded.
+     */
+    synchronized void finish() {
+        running = false;
+        lastCompletedAt = Instant.now();
+        if (failedFetches == 0 && completedFetches == plannedFetches) {
+            lastSuccessfulRefresh = lastCompletedAt;
+        }
+    }
+
+    synchronized Instant lastSuccessfulRefresh() {
+        return lastSuccessfulRefresh;
+    }
+
+    synchronized IngestionStatusDto toDto() {
+        return IngestionStatusDto.builder()
+                .source(source)
+                .running(running)
+                .plannedFetches(plannedFetches)
+                .completedFetches(completedFetches)
+                .failedFetches(failedFetches)
+                .lastStartedAt(lastStartedAt)
+                .lastCompletedAt(lastCompletedAt)
+                .lastSuccessfulRefresh(lastSuccessfulRefresh)
+                .build();
+    }
+}
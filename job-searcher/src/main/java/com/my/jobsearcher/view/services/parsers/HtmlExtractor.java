@@ -0,0 +1,70 @@
+package com.my.jobsearcher.view.services.parsers;
+
+import com.my.jobsearcher.config.ExtractionProperties;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Evaluator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Turns downloaded pages into the documents handed to {@link Parser#parse}.
+ * <p>
+ * A full result page is mostly navigation, scripts and footer around one list of cards. In
+ * streaming mode only the parser's {@link Parser#regions() regions} are kept: every other element
+ * is dropped as soon as it closes, and tokenizing stops once each region has closed, so the rest
+ * of the page is never parsed.
+ */
+@Component
+public class HtmlExtractor {
+
+    private final ExtractionProperties properties;
+
+    public HtmlExtractor(ExtractionProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Document of a source's first result page, a full HTML page.
+     */
+    public Document firstPage(Parser parser, String html, String baseUri) {
+        Regions regions = parser.regions();
+        if (!properties.isStreaming() || regions.isEmpty()) {
+            return Jsoup.parse(html, baseUri);
+        }
+        return extract(html, baseUri, regions);
+    }
+
+    /**
+     * Document of a follow-up page. These are bare fragments of cards already, so they are parsed whole.
+     */
+    public Document nextPage(Parser parser, String body, String baseUri) {
+        return Jsoup.parse(parser.pageHtml(body), baseUri);
+    }
+
+    private static Document extract(String html, String baseUri, Regions regions) {
+        Document extracted = Document.createShell(baseUri);
+        Evaluator anyRegion = regions.any();
+        List<Evaluator> pending = new ArrayList<>(regions.each());
+
+        try (StreamParser streamer = new StreamParser(org.jsoup.parser.Parser.htmlParser()).parse(html, baseUri)) {
+            Iterator<Element> elements = streamer.iterator();
+            while (!pending.isEmpty() && elements.hasNext()) {
+                // elements arrive as they close, children before their parents
+                Element element = elements.next();
+                if (element.is(anyRegion)) {
+                    pending.removeIf(element::is);
+                    extracted.body().appendChild(element);
+                } else if (element.closest(anyRegion) == null) {
+                    element.remove();
+                }
+            }
+        }
+        return extracted;
+    }
+}
@@ -0,0 +1,25 @@
+package com.my.jobsearcher.view.services.parsers;
+
+import java.util.Map;
+
+/**
+ * One result page after the first. Sent as a form POST when {@code form} is not empty,
+ * as a GET otherwise.
+ */
+public record PageRequest(String url, Map<String, String> form, Map<String, String> headers) {
+
+    public static PageRequest get(String url) {
+        return new PageRequest(url, Map.of(), Map.of());
+    }
+
+    public boolean isPost() {
+        return !form.isEmpty();
+    }
+
+    /**
+     * Key the page is single-flighted under; form pages of one URL differ by their form.
+     */
+    public String key() {
+        return isPost() ? url + "#" + form : url;
+    }
+}
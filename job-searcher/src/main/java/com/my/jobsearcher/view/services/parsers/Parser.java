@@ -2,10 +2,59 @@ package com.my.jobsearcher.view.services.parsers;
 
 import com.my.jobsearcher.store.dto.ResponseDto;
 import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.enums.Source;
 import org.jsoup.nodes.Document;
 
 import java.util.List;
 
 public interface Parser {
-    List<ResponseDto> getVacancies(VacancyRequest vacancyRequest);
+    Source getSource();
+
+    /**
+     * Collapses a request onto the representative of every request this source answers identically,
+     * e.g. experience levels the source has no filter for become {@code ALL}.
+     */
+    VacancyRequest canonicalize(VacancyRequest vacancyRequest);
+
+    /**
+     * Upstream URL serving a canonical request. Canonical requests that differ only in
+     * filters applied after parsing share a fetch key.
+     */
+    String getFetchKey(VacancyRequest vacancyRequest);
+
+    /**
+     * Selectors of the elements of a first result page that {@link #parse} and {@link #nextPages}
+     * read, e.g. the list of cards and the pagination. When given, {@link HtmlExtractor} keeps only
+     * these and stops parsing once each has been seen; without them the whole page is parsed.
+     * Parsers compile them once with {@link Regions#of}, next to their card rules.
+     */
+    default Regions regions() {
+        return Regions.NONE;
+    }
+
+    /**
+     * The URL identifying a posting, from which its {@link ResponseDto#getId() id} is derived.
+     * Tracking parameters are dropped so that a posting read twice keeps its identity.
+     */
+    default String canonicalUrl(String url) {
+        return UrlNormalizer.withoutTracking(url);
+    }
+
+    /**
+     * Requests for the result pages following {@code firstPage}, at most {@code maxPages - 1} of them.
+     * Sources without pagination return nothing.
+     */
+    default List<PageRequest> nextPages(String fetchKey, Document firstPage, int maxPages) {
+        return List.of();
+    }
+
+    /**
+     * HTML carried by the response to a {@link PageRequest}. Sources answering with a wrapped
+     * fragment unwrap it here.
+     */
+    default String pageHtml(String body) {
+        return body;
+    }
+
+    List<ResponseDto> parse(Document document, VacancyRequest vacancyRequest);
 }
@@ -0,0 +1,31 @@
+package com.my.jobsearcher.view.services.parsers;
+
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@link Parser#regions() regions} of a first result page with their selectors parsed into
+ * evaluators, so that {@link HtmlExtractor} matches elements without parsing any selector again.
+ *
+ * @param any  matches an element of any of the regions
+ * @param each one evaluator per region
+ */
+public record Regions(Evaluator any, List<Evaluator> each) {
+
+    public static final Regions NONE = new Regions(null, List.of());
+
+    public static Regions of(String... selectors) {
+        if (selectors.length == 0) {
+            return NONE;
+        }
+        return new Regions(QueryParser.parse(String.join(", ", selectors)),
+                Arrays.stream(selectors).map(QueryParser::parse).toList());
+    }
+
+    public boolean isEmpty() {
+        return each.isEmpty();
+    }
+}
@@ -0,0 +1,86 @@
+package com.my.jobsearcher.view.services.parsers;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Building blocks of {@link Parser#canonicalUrl}: the same posting linked from different pages
+ * or sessions has to come out as the same string.
+ */
+public final class UrlNormalizer {
+
+    private static final Set<String> TRACKING_PARAMETERS = Set.of(
+            "refid", "trackingid", "trk", "position", "pagenum", "from", "ref", "source",
+            "fbclid", "gclid", "yclid");
+
+    private UrlNormalizer() {
+    }
+
+    /**
+     * Lower-cases scheme and host, drops the fragment, a default port and tracking parameters
+     * such as {@code utm_*}, {@code refId} or {@code trackingId}, and keeps every other parameter
+     * in its order.
+     */
+    public static String withoutTracking(String url) {
+        URI uri = parse(url);
+        if (uri == null) {
+            return url;
+        }
+        List<String> kept = new ArrayList<>();
+        if (uri.getRawQuery() != null) {
+            for (String parameter : uri.getRawQuery().split("&")) {
+                String name = parameter.split("=", 2)[0].toLowerCase(Locale.ROOT);
+                if (!parameter.isEmpty() && !name.startsWith("utm_") && !TRACKING_PARAMETERS.contains(name)) {
+                    kept.add(parameter);
+                }
+            }
+        }
+        return build(uri, uri.getHost(), kept.isEmpty() ? null : String.join("&", kept));
+    }
+
+    /**
+     * Like {@link #withoutTracking} but drops the whole query, for sources whose posting URLs
+     * identify the job by path alone. A non-null {@code host} replaces the URL's host, e.g. to
+     * merge country subdomains.
+     */
+    public static String withoutQuery(String url, String host) {
+        URI uri = parse(url);
+        if (uri == null) {
+            return url;
+        }
+        return build(uri, host != null ? host : uri.getHost(), null);
+    }
+
+    private static String build(URI uri, String host, String query) {
+        StringBuilder canonical = new StringBuilder()
+                .append(uri.getScheme().toLowerCase(Locale.ROOT))
+                .append("://")
+                .append(host.toLowerCase(Locale.ROOT));
+        int port = uri.getPort();
+        if (port != -1 && !(port == 443 && "https".equalsIgnoreCase(uri.getScheme()))
+                && !(port == 80 && "http".equalsIgnoreCase(uri.getScheme()))) {
+            canonical.append(':').append(port);
+        }
+        canonical.append(uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath());
+        if (query != null) {
+            canonical.append('?').append(query);
+        }
+        return canonical.toString();
+    }
+
+    private static URI parse(String url) {
+        if (url == null || url.isEmpty()) {
+            return null;
+        }
+        try {
+            URI uri = new URI(url.trim());
+            return uri.getScheme() != null && uri.getHost() != null ? uri : null;
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+}
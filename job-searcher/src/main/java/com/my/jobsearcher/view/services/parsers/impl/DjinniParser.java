@@ -3,13 +3,19 @@ package com.my.jobsearcher.view.services.parsers.impl;
 import com.my.jobsearcher.store.dto.ResponseDto;
 import com.my.jobsearcher.store.entities.VacancyRequest;
 import com.my.jobsearcher.store.enums.Employment;
+import com.my.jobsearcher.store.enums.Experience;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.view.services.parsers.PageRequest;
 import com.my.jobsearcher.view.services.parsers.Parser;
-import org.jsoup.Jsoup;
+import com.my.jobsearcher.view.services.parsers.Regions;
+import com.my.jobsearcher.view.services.parsers.rules.Card;
+import com.my.jobsearcher.view.services.parsers.rules.CardExtractor;
+import com.my.jobsearcher.view.services.parsers.rules.ExtractionRule;
+import com.my.jobsearcher.view.services.parsers.rules.FieldRule;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -21,10 +27,34 @@ public class DjinniParser implements Parser {
     private static final String JUNIOR = "exp_level=no_exp&exp_level=1y&exp_level=2y";
     private static final String MIDDLE = "exp_level=2y&exp_level=3y";
     private static final String SENIOR = "exp_level=3y&exp_level=5y";
-    private static final String DJINNI_URL = "https://djinni.co";
+    private static final CardExtractor CARDS = ExtractionRule.builder()
+            .list("ul.list-unstyled.list-jobs.mb-4")
+            .card("li.mb-4")
+            .field(Card.TITLE, FieldRule.text("a.job-item__title-link").asRequired())
+            .field(Card.URL, FieldRule.attribute("a.job-item__title-link", "abs:href"))
+            .field(Card.COMPANY, FieldRule.text("a.text-body.js-analytics-event"))
+            .field(Card.DESCRIPTION, FieldRule.text("span.js-original-text.d-none"))
+            .field(Card.COMPANY_IMAGE, FieldRule.attribute("div.userpic-wrapper.is-company-logo img.userpic-image_img", "src"))
+            .build()
+            .compile();
+    private static final Regions REGIONS = Regions.of("ul.list-jobs", "ul.pagination");
 
     @Override
-    public List<ResponseDto> getVacancies(VacancyRequest vacancyRequest) {
+    public Source getSource() {
+        return Source.DJINNI;
+    }
+
+    @Override
+    public VacancyRequest canonicalize(VacancyRequest vacancyRequest) {
+        Experience exp = switch (vacancyRequest.getExp()) {
+            case JUNIOR, MIDDLE, SENIOR -> vacancyRequest.getExp();
+            default -> Experience.ALL;
+        };
+        return new VacancyRequest(vacancyRequest.getLang(), exp, vacancyRequest.getEmp());
+    }
+
+    @Override
+    public String getFetchKey(VacancyRequest vacancyRequest) {
         String expLvl = switch (vacancyRequest.getExp()) {
             case JUNIOR -> JUNIOR;
             case MIDDLE -> MIDDLE;
@@ -39,72 +69,40 @@ public class DjinniParser implements Parser {
             employment = "employment=" + vacancyRequest.getEmp().toString().toLowerCase();
         }
 
-        String url = "https://djinni.co/jobs/?"
+        return "https://djinni.co/jobs/?"
                 + "all-keywords=&any-of-keywords=&exclude-keywords=&primary_keyword="
                 + URLEncoder.encode(vacancyRequest.getLang().toString(), StandardCharsets.UTF_8)
                 + "&" + expLvl
                 + "&" + employment;
-
-
-        try {
-            // Use a desktop-like User-Agent
-            Document document = Jsoup.connect(url)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) "
-                            + "AppleWebKit/537.36 (KHTML, like Gecko) "
-                            + "Chrome/110.0.0.0 Safari/537.36")
-                    .get();
-
-            return parseVacancies(document);
-
-        } catch (IOException e) {
-            throw new RuntimeException("Error fetching Djinni page: " + e.getMessage(), e);
-        }
     }
 
-    private List<ResponseDto> parseVacancies(Document document) {
-        List<ResponseDto> vacancies = new ArrayList<>();
-
-        Element ulElement = document.selectFirst("ul.list-unstyled.list-jobs.mb-4");
-        if (ulElement == null) {
-            System.out.println("No job listings found on this page!");
-            return vacancies;
-        }
-
-        var liElements = ulElement.select("li.mb-4");
-        for (Element li : liElements) {
-            Element titleLink = li.selectFirst("a.job-item__title-link");
-            if (titleLink == null) {
-                continue;
-            }
-            String title = titleLink.text();
-            String link = titleLink.attr("href");
-            if (!link.startsWith("http")) {
-                link = DJINNI_URL + link;
-            }
-
-            Element companyLink = li.selectFirst("a.text-body.js-analytics-event");
-            String companyName = (companyLink != null) ? companyLink.text() : "";
-
-            Element descriptionElement = li.selectFirst("span.js-original-text.d-none");
-            String description = (descriptionElement != null) ? descriptionElement.text() : "";
+    @Override
+    public Regions regions() {
+        return REGIONS;
+    }
 
-            Element companyImageDiv = li.selectFirst("div.userpic-wrapper.is-company-logo");
-            String companyImage = "";
-            if (companyImageDiv != null) {
-                Element img = companyImageDiv.selectFirst("img.userpic-image_img");
-                if (img != null) {
-                    companyImage = img.attr("src");
-                }
+    /**
+     * Djinni paginates with {@code page=}; the last page number is read off the pagination bar.
+     */
+    @Override
+    public List<PageRequest> nextPages(String fetchKey, Document firstPage, int maxPages) {
+        int lastPage = 1;
+        for (Element link : firstPage.select("ul.pagination a.page-link")) {
+            String text = link.text().trim();
+            if (text.matches("\\d+")) {
+                lastPage = Math.max(lastPage, Integer.parseInt(text));
             }
+        }
 
-            vacancies.add(ResponseDto.builder()
-                    .jobTitle(title)
-                    .company(companyName)
-                    .url(link)
-                    .description(description)
-                    .companyImage(companyImage)
-                    .build());
+        List<PageRequest> pages = new ArrayList<>();
+        for (int page = 2; page <= Math.min(lastPage, maxPages); page++) {
+            pages.add(PageRequest.get(fetchKey + "&page=" + page));
         }
-        return vacancies;
+        return pages;
+    }
+
+    @Override
+    public List<ResponseDto> parse(Document document, VacancyRequest vacancyRequest) {
+        return CARDS.extract(document).stream().map(card -> card.toDto(this::canonicalUrl)).toList();
     }
 }
@@ -1,11 +1,19 @@
 package com.my.jobsearcher.view.services.parsers.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.my.jobsearcher.store.dto.ResponseDto;
 import com.my.jobsearcher.store.entities.VacancyRequest;
 import com.my.jobsearcher.store.enums.Employment;
 import com.my.jobsearcher.store.enums.Experience;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.view.services.parsers.PageRequest;
 import com.my.jobsearcher.view.services.parsers.Parser;
-import org.jsoup.Jsoup;
+import com.my.jobsearcher.view.services.parsers.Regions;
+import com.my.jobsearcher.view.services.parsers.UrlNormalizer;
+import com.my.jobsearcher.view.services.parsers.rules.Card;
+import com.my.jobsearcher.view.services.parsers.rules.CardExtractor;
+import com.my.jobsearcher.view.services.parsers.rules.ExtractionRule;
+import com.my.jobsearcher.view.services.parsers.rules.FieldRule;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.springframework.stereotype.Component;
@@ -15,6 +23,8 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class DouParser implements Parser {
@@ -23,11 +33,40 @@ public class DouParser implements Parser {
     private final String MIDDLE = "exp=1-3";
     private final String SENIOR = "exp=3-5";
     private final String SENIOR_PLUS = "exp=5plus";
+    private static final int FIRST_PAGE_SIZE = 20;
+    private static final int LOAD_MORE_SIZE = 40;
+    // "Load more" is a Django form post: any token works as long as the cookie carries the same one
+    private static final String CSRF_TOKEN = UUID.randomUUID().toString().replace("-", "");
+    private static final String CITY = "city";
+    private static final CardExtractor CARDS = ExtractionRule.builder()
+            .card("li.l-vacancy")
+            .field(Card.TITLE, FieldRule.text("a.vt").asRequired())
+            .field(Card.URL, FieldRule.attribute("a.vt", "href"))
+            .field(Card.COMPANY, FieldRule.text("a.company"))
+            .field(Card.COMPANY_IMAGE, FieldRule.attribute("a.company img.f-i", "src"))
+            .field(Card.DESCRIPTION, FieldRule.text("div.sh-info"))
+            .field(CITY, FieldRule.text("span.cities"))
+            .build()
+            .compile();
+    private static final Regions REGIONS = Regions.of("div.b-inner-page-header", "#vacancyListId");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     @Override
-    public List<ResponseDto> getVacancies(VacancyRequest vacancyRequest) {
-        List<ResponseDto> resultList = null;
+    public Source getSource() {
+        return Source.DOU;
+    }
+
+    @Override
+    public VacancyRequest canonicalize(VacancyRequest vacancyRequest) {
+        Experience exp = switch (vacancyRequest.getExp()) {
+            case JUNIOR, MIDDLE, SENIOR -> vacancyRequest.getExp();
+            default -> Experience.ALL;
+        };
+        return new VacancyRequest(vacancyRequest.getLang(), exp, vacancyRequest.getEmp());
+    }
 
+    @Override
+    public String getFetchKey(VacancyRequest vacancyRequest) {
         String expLvl;
         if (vacancyRequest.getExp() == Experience.JUNIOR) {
             expLvl = JUNIOR;
@@ -39,63 +78,85 @@ public class DouParser implements Parser {
             expLvl = "";
         }
 
-        String url = "https://jobs.dou.ua/vacancies/?search="
+        // Employment is not part of the URL: DOU results are filtered by city after parsing.
+        return "https://jobs.dou.ua/vacancies/?search="
                 + URLEncoder.encode(vacancyRequest.getLang().toString(), StandardCharsets.UTF_8)
                 + "&" + expLvl;
-        try {
-            Document document = Jsoup.connect(url)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
-                            "AppleWebKit/537.36 (KHTML, like Gecko) " +
-                            "Chrome/110.0.0.0 Safari/537.36")
-                    .get();
+    }
 
-            resultList = buildDto(document, vacancyRequest.getEmp());
+    /**
+     * Vacancy links carry where they were clicked from, e.g. {@code ?from=list_hot}.
+     */
+    @Override
+    public String canonicalUrl(String url) {
+        return UrlNormalizer.withoutQuery(url, null);
+    }
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to fetch DOU page: " + e.getMessage(), e);
-        }
-        return resultList;
+    @Override
+    public Regions regions() {
+        return REGIONS;
     }
 
-    private List<ResponseDto> buildDto(Document document, Employment emp) {
-        List<ResponseDto> vacancies = new ArrayList<>();
+    /**
+     * DOU has no page numbers: "load more" posts the number of cards already shown to
+     * {@code xhr-load/} and gets the next {@value #LOAD_MORE_SIZE} back.
+     */
+    @Override
+    public List<PageRequest> nextPages(String fetchKey, Document firstPage, int maxPages) {
+        int total = vacancyCount(firstPage);
+        String url = fetchKey.replace("/vacancies/?", "/vacancies/xhr-load/?");
+        Map<String, String> headers = Map.of(
+                "Referer", fetchKey,
+                "X-Requested-With", "XMLHttpRequest",
+                "Cookie", "csrftoken=" + CSRF_TOKEN);
+
+        List<PageRequest> pages = new ArrayList<>();
+        for (int count = FIRST_PAGE_SIZE, page = 2; count < total && page <= maxPages; count += LOAD_MORE_SIZE, page++) {
+            Map<String, String> form = Map.of(
+                    "csrfmiddlewaretoken", CSRF_TOKEN,
+                    "count", String.valueOf(count));
+            pages.add(new PageRequest(url, form, headers));
+        }
+        return pages;
+    }
 
-        var jobElements = document.select("li.l-vacancy");
-        for (Element jobElem : jobElements) {
-            Element linkEl = jobElem.selectFirst("a.vt");
-            if (linkEl == null) {
-                continue;
-            }
-            String jobUrl = linkEl.attr("href");
-            String jobTitle = linkEl.text();
-
-            Element companyEl = jobElem.selectFirst("a.company");
-            String companyName = (companyEl != null) ? companyEl.text() : "";
-            String imageUrl = "";
-            if (companyEl != null) {
-                Element imgEl = companyEl.selectFirst("img.f-i");
-                if (imgEl != null) {
-                    imageUrl = imgEl.attr("src");
-                }
-            }
+    /**
+     * {@code xhr-load/} answers with JSON wrapping the cards' HTML.
+     */
+    @Override
+    public String pageHtml(String body) {
+        try {
+            return MAPPER.readTree(body).path("html").asText("");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read DOU page: " + e.getMessage(), e);
+        }
+    }
 
-            Element descriptionEl = jobElem.selectFirst("div.sh-info");
-            String description = (descriptionEl != null) ? descriptionEl.text() : "";
+    /**
+     * Total from the page header, e.g. "1 234 вакансії". Without a header, more pages are assumed
+     * whenever the first one is full.
+     */
+    private int vacancyCount(Document firstPage) {
+        Element header = firstPage.selectFirst("div.b-inner-page-header h1");
+        String digits = header == null ? "" : header.text().replaceAll("[\\s\u00a0]", "").replaceAll("^(\\d*).*$", "$1");
+        if (!digits.isEmpty()) {
+            return Integer.parseInt(digits);
+        }
+        return firstPage.select("li.l-vacancy").size() >= FIRST_PAGE_SIZE ? Integer.MAX_VALUE : 0;
+    }
 
-            Element cityEl = jobElem.selectFirst("span.cities");
-            String cityText = (cityEl != null) ? cityEl.text() : "";
+    @Override
+    public List<ResponseDto> parse(Document document, VacancyRequest vacancyRequest) {
+        return buildDto(document, vacancyRequest.getEmp());
+    }
 
-            if (shouldIncludeVacancy(cityText, emp)) {
-                vacancies.add(ResponseDto.builder()
-                        .jobTitle(jobTitle)
-                        .company(companyName)
-                        .url(jobUrl)
-                        .description(description)
-                        .companyImage(imageUrl)
-                        .build());
+    private List<ResponseDto> buildDto(Document document, Employment emp) {
+        List<ResponseDto> vacancies = new ArrayList<>();
+        for (Card card : CARDS.extract(document)) {
+            if (shouldIncludeVacancy(card.get(CITY), emp)) {
+                vacancies.add(card.toDto(this::canonicalUrl));
             }
         }
-
         return vacancies;
     }
 
@@ -4,13 +4,20 @@ import com.my.jobsearcher.store.dto.ResponseDto;
 import com.my.jobsearcher.store.entities.VacancyRequest;
 import com.my.jobsearcher.store.enums.Experience;
 import com.my.jobsearcher.store.enums.Employment;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.view.services.parsers.PageRequest;
 import com.my.jobsearcher.view.services.parsers.Parser;
-import org.jsoup.Jsoup;
+import com.my.jobsearcher.view.services.parsers.Regions;
+import com.my.jobsearcher.view.services.parsers.UrlNormalizer;
+import com.my.jobsearcher.view.services.parsers.rules.Card;
+import com.my.jobsearcher.view.services.parsers.rules.CardExtractor;
+import com.my.jobsearcher.view.services.parsers.rules.ExtractionRule;
+import com.my.jobsearcher.view.services.parsers.rules.FieldRule;
+import com.my.jobsearcher.view.services.parsers.rules.PostProcess;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -20,16 +27,40 @@ import java.util.List;
 public class LinkedInParser implements Parser {
 
     private static final String BASE_URL = "https://www.linkedin.com/jobs/search";
-    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
-            "AppleWebKit/537.36 (KHTML, like Gecko) " +
-            "Chrome/110.0.0.0 Safari/537.36";
+    private static final String GUEST_API_URL = "https://www.linkedin.com/jobs-guest/jobs/api/seeMoreJobPostings/search";
+    private static final int PAGE_SIZE = 25;
+    // search pages wrap the cards in a list, guest API pages are the bare cards
+    private static final CardExtractor CARDS = ExtractionRule.builder()
+            .list("ul.jobs-search__results-list")
+            .card("li")
+            .cardWithoutList("body > li")
+            .field(Card.TITLE, FieldRule.text("div.base-card h3.base-search-card__title").asRequired())
+            .field(Card.URL, FieldRule.attribute("div.base-card a.base-card__full-link", "href").then(PostProcess.TRIM))
+            .field(Card.COMPANY, FieldRule.text("div.base-card h4.base-search-card__subtitle a"))
+            .field(Card.COMPANY_IMAGE, FieldRule.attribute("div.base-card img.artdeco-entity-image--square-4", "data-delayed-url")
+                    .then(PostProcess.DECODE_AMPERSANDS))
+            .build()
+            .compile();
+    private static final Regions REGIONS = Regions.of("span.results-context-header__job-count", "ul.jobs-search__results-list");
 
     @Override
-    public List<ResponseDto> getVacancies(VacancyRequest vacancyRequest) {
-        List<ResponseDto> vacancies = new ArrayList<>();
+    public Source getSource() {
+        return Source.LINKEDIN;
+    }
 
-        String langDisplay = vacancyRequest.getLang().toString();
-        String keywords    = URLEncoder.encode(langDisplay, StandardCharsets.UTF_8);
+    @Override
+    public VacancyRequest canonicalize(VacancyRequest vacancyRequest) {
+        Experience exp = switch (vacancyRequest.getExp()) {
+            case JUNIOR, JUNIOR_PLUS -> Experience.JUNIOR;
+            case MIDDLE, MIDDLE_PLUS, SENIOR, SENIOR_PLUS -> Experience.MIDDLE;
+            case ALL -> Experience.ALL;
+        };
+        return new VacancyRequest(vacancyRequest.getLang(), exp, vacancyRequest.getEmp());
+    }
+
+    @Override
+    public String getFetchKey(VacancyRequest vacancyRequest) {
+        String keywords    = URLEncoder.encode(vacancyRequest.getLang().toString(), StandardCharsets.UTF_8);
         String location    = URLEncoder.encode("Ukraine",     StandardCharsets.UTF_8);
 
         String expParam = "";
@@ -51,66 +82,76 @@ public class LinkedInParser implements Parser {
             empParam = "&f_WT=1";
         }
 
-        String url = BASE_URL
+        return BASE_URL
                 + "?keywords=" + keywords
                 + "&location=" + location
                 + expParam
                 + empParam;
+    }
 
-        try {
-            Document doc = Jsoup.connect(url)
-                    .userAgent(USER_AGENT)
-                    .get();
-
-            Element list = doc.selectFirst("ul.jobs-search__results-list");
-            if (list == null) return vacancies;
+    /**
+     * Job links carry {@code refId}, {@code trackingId} and list positions, and point at country
+     * subdomains such as {@code ua.linkedin.com}; the job is identified by the path alone.
+     */
+    @Override
+    public String canonicalUrl(String url) {
+        return UrlNormalizer.withoutQuery(url, "www.linkedin.com");
+    }
 
-            String filterLang = langDisplay.toLowerCase();
+    @Override
+    public Regions regions() {
+        return REGIONS;
+    }
 
-            for (Element li : list.select("li")) {
-                Element card = li.selectFirst("div.base-card");
-                if (card == null) continue;
+    /**
+     * Later pages come from the guest API, which takes the same query plus a {@code start=} offset
+     * and answers with bare {@code <li>} cards.
+     */
+    @Override
+    public List<PageRequest> nextPages(String fetchKey, Document firstPage, int maxPages) {
+        int total = jobCount(firstPage);
+        String query = fetchKey.substring(BASE_URL.length());
 
-                String jobTitle      = textOrEmpty(card.selectFirst("h3.base-search-card__title"));
-                String jobTitleLower = jobTitle.toLowerCase();
+        List<PageRequest> pages = new ArrayList<>();
+        for (int page = 1; page < maxPages && page * PAGE_SIZE < total; page++) {
+            pages.add(PageRequest.get(GUEST_API_URL + query + "&start=" + page * PAGE_SIZE));
+        }
+        return pages;
+    }
 
-                if (!jobTitleLower.contains(filterLang)) continue;
+    /**
+     * Total from the results header, e.g. "1,000+". Without a header, more pages are assumed
+     * whenever the first one is full.
+     */
+    private int jobCount(Document firstPage) {
+        Element count = firstPage.selectFirst("span.results-context-header__job-count");
+        String digits = count == null ? "" : count.text().replaceAll("\\D", "");
+        if (!digits.isEmpty()) {
+            return Integer.parseInt(digits);
+        }
+        return firstPage.select("ul.jobs-search__results-list > li").size() >= PAGE_SIZE ? Integer.MAX_VALUE : 0;
+    }
 
-                if ((exp == Experience.JUNIOR || exp == Experience.JUNIOR_PLUS)
-                        && (jobTitleLower.contains("middle") || jobTitleLower.contains("senior"))) {
-                    continue;
-                }
+    @Override
+    public List<ResponseDto> parse(Document doc, VacancyRequest vacancyRequest) {
+        List<ResponseDto> vacancies = new ArrayList<>();
 
-                String jobUrl  = attrOrEmpty(card.selectFirst("a.base-card__full-link"), "href");
-                String company = textOrEmpty(card.selectFirst("h4.base-search-card__subtitle a"));
+        Experience exp = vacancyRequest.getExp();
+        String filterLang = vacancyRequest.getLang().toString().toLowerCase();
 
-                Element imgEl = card.selectFirst("img.artdeco-entity-image--square-4");
-                String companyImage = imgEl != null
-                        ? imgEl.attr("data-delayed-url").replace("&amp;", "&")
-                        : "";
+        for (Card card : CARDS.extract(doc)) {
+            String jobTitleLower = card.get(Card.TITLE).toLowerCase();
 
-                String description = "";
+            if (!jobTitleLower.contains(filterLang)) continue;
 
-                vacancies.add(ResponseDto.builder()
-                        .jobTitle(jobTitle)
-                        .url(jobUrl)
-                        .company(company)
-                        .description(description)
-                        .companyImage(companyImage)
-                        .build());
+            if ((exp == Experience.JUNIOR || exp == Experience.JUNIOR_PLUS)
+                    && (jobTitleLower.contains("middle") || jobTitleLower.contains("senior"))) {
+                continue;
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to fetch LinkedIn page: " + e.getMessage(), e);
+
+            vacancies.add(card.toDto(this::canonicalUrl));
         }
 
         return vacancies;
     }
-
-    private String textOrEmpty(Element el) {
-        return el != null ? el.text().trim() : "";
-    }
-
-    private String attrOrEmpty(Element el, String attr) {
-        return el != null ? el.attr(attr).trim() : "";
-    }
 }
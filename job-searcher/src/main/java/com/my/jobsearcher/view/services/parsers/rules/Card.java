@@ -0,0 +1,35 @@
+package com.my.jobsearcher.view.services.parsers.rules;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Field values extracted from one card, by field name. Fields without a value are empty strings.
+ */
+public record Card(Map<String, String> fields) {
+
+    public static final String TITLE = "title";
+    public static final String URL = "url";
+    public static final String COMPANY = "company";
+    public static final String DESCRIPTION = "description";
+    public static final String COMPANY_IMAGE = "companyImage";
+
+    public String get(String field) {
+        return fields.getOrDefault(field, "");
+    }
+
+    /**
+     * The card as a vacancy, its URL put into canonical form by {@code canonicalUrl}.
+     */
+    public ResponseDto toDto(UnaryOperator<String> canonicalUrl) {
+        return ResponseDto.builder()
+                .jobTitle(get(TITLE))
+                .url(canonicalUrl.apply(get(URL)))
+                .company(get(COMPANY))
+                .description(get(DESCRIPTION))
+                .companyImage(get(COMPANY_IMAGE))
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.my.jobsearcher.view.services.parsers.rules;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link ExtractionRule} with its selectors parsed into evaluators, so that extracting a page
+ * matches elements without parsing any selector again.
+ */
+public class CardExtractor {
+
+    private final Evaluator list;
+    private final Evaluator card;
+    private final Evaluator cardWithoutList;
+    private final List<CompiledField> fields = new ArrayList<>();
+
+    CardExtractor(ExtractionRule rule) {
+        this.list = compile(rule.getList());
+        this.card = compile(rule.getCard());
+        this.cardWithoutList = compile(rule.getCardWithoutList());
+        rule.getFields().forEach((name, field) -> fields.add(new CompiledField(name, compile(field.selector()), field)));
+    }
+
+    /**
+     * The cards found in the document, in page order.
+     */
+    public List<Card> extract(Element document) {
+        List<Card> cards = new ArrayList<>();
+        for (Element element : cardElements(document)) {
+            Card card = extractCard(element);
+            if (card != null) {
+                cards.add(card);
+            }
+        }
+        return cards;
+    }
+
+    private List<Element> cardElements(Element document) {
+        if (list == null) {
+            return document.select(card);
+        }
+        Element container = document.selectFirst(list);
+        if (container != null) {
+            return container.select(card);
+        }
+        return cardWithoutList != null ? document.select(cardWithoutList) : List.of();
+    }
+
+    private Card extractCard(Element element) {
+        Map<String, String> values = new HashMap<>();
+        for (CompiledField field : fields) {
+            Element match = element.selectFirst(field.selector());
+            if (match == null) {
+                if (field.rule().required()) {
+                    return null;
+                }
+                continue;
+            }
+            String value = field.rule().attribute() != null ? match.attr(field.rule().attribute()) : match.text();
+            for (PostProcess step : field.rule().postProcess()) {
+                value = step.apply(value);
+            }
+            values.put(field.name(), value);
+        }
+        return new Card(values);
+    }
+
+    private static Evaluator compile(String selector) {
+        return selector != null ? QueryParser.parse(selector) : null;
+    }
+
+    private record CompiledField(String name, Evaluator selector, FieldRule rule) {
+    }
+}
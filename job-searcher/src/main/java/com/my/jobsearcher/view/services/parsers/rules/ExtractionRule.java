@@ -0,0 +1,29 @@
+package com.my.jobsearcher.view.services.parsers.rules;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Declarative description of the cards on a source's result page. Cards are the elements
+ * matching {@code card} within the first {@code list} element; without a {@code list}, or when
+ * it is absent and {@code cardWithoutList} is given, cards are looked up in the whole document.
+ */
+@Value
+@Builder
+public class ExtractionRule {
+    String list;
+    String card;
+    String cardWithoutList;
+    @Singular
+    Map<String, FieldRule> fields;
+
+    /**
+     * Compiles the selectors once, for a {@link CardExtractor} to reuse on every page.
+     */
+    public CardExtractor compile() {
+        return new CardExtractor(this);
+    }
+}
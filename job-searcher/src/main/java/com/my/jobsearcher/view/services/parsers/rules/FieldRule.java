@@ -0,0 +1,27 @@
+package com.my.jobsearcher.view.services.parsers.rules;
+
+import java.util.List;
+
+/**
+ * Where a card field is read from: the text of the first element matching {@code selector}
+ * within the card, or its {@code attribute} when given. Jsoup's {@code abs:} prefix resolves
+ * links against the page URL. A card missing a {@code required} field is skipped.
+ */
+public record FieldRule(String selector, String attribute, boolean required, List<PostProcess> postProcess) {
+
+    public static FieldRule text(String selector) {
+        return new FieldRule(selector, null, false, List.of());
+    }
+
+    public static FieldRule attribute(String selector, String attribute) {
+        return new FieldRule(selector, attribute, false, List.of());
+    }
+
+    public FieldRule asRequired() {
+        return new FieldRule(selector, attribute, true, postProcess);
+    }
+
+    public FieldRule then(PostProcess... steps) {
+        return new FieldRule(selector, attribute, required, List.of(steps));
+    }
+}
@@ -0,0 +1,19 @@
+package com.my.jobsearcher.view.services.parsers.rules;
+
+/**
+ * Clean-up applied to an extracted field value.
+ */
+public enum PostProcess {
+    TRIM,
+    /**
+     * Turns {@code &amp;} left in attribute values back into {@code &}.
+     */
+    DECODE_AMPERSANDS;
+
+    String apply(String value) {
+        return switch (this) {
+            case TRIM -> value.trim();
+            case DECODE_AMPERSANDS -> value.replace("&amp;", "&");
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.my.jobsearcher.view.services.planner;
+
+import java.util.List;
+
+/**
+ * @param fetches         distinct upstream fetches to run
+ * @param logicalFetches  fetches the unplanned request × source product would have made
+ */
+public record FetchPlan(List<PlannedFetch> fetches, int logicalFetches) {
+}
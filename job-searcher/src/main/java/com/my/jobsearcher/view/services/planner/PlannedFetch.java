@@ -0,0 +1,16 @@
+package com.my.jobsearcher.view.services.planner;
+
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.view.services.parsers.Parser;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One distinct upstream fetch together with every canonical request parsed out of its page
+ * and, for each canonical request, the logical requests it answers.
+ */
+public record PlannedFetch(Parser parser,
+                           String fetchKey,
+                           Map<VacancyRequest, List<VacancyRequest>> routes) {
+}
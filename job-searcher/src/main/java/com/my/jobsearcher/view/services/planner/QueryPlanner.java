@@ -0,0 +1,53 @@
+package com.my.jobsearcher.view.services.planner;
+
+import com.my.jobsearcher.store.entities.SourceQuery;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.view.services.parsers.Parser;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class QueryPlanner {
+
+    /**
+     * Collapses the request × source product into the minimal set of upstream fetches.
+     * Requests are first reduced to each source's canonical request, canonical requests are
+     * then grouped by the fetch key they resolve to.
+     */
+    public FetchPlan plan(List<VacancyRequest> vacancyRequests, List<Parser> parsers) {
+        List<PlannedFetch> fetches = new ArrayList<>();
+
+        for (Parser parser : parsers) {
+            Map<String, Map<VacancyRequest, List<VacancyRequest>>> byFetchKey = new LinkedHashMap<>();
+            for (VacancyRequest vacancyRequest : vacancyRequests) {
+                VacancyRequest canonical = parser.canonicalize(vacancyRequest);
+                byFetchKey.computeIfAbsent(parser.getFetchKey(canonical), key -> new LinkedHashMap<>())
+                        .computeIfAbsent(canonical, key -> new ArrayList<>())
+                        .add(vacancyRequest);
+            }
+            byFetchKey.forEach((fetchKey, routes) -> fetches.add(new PlannedFetch(parser, fetchKey, routes)));
+        }
+
+        return new FetchPlan(fetches, vacancyRequests.size() * parsers.size());
+    }
+
+    /**
+     * The (source, canonical request) pairs the requests resolve to on the given parsers: the
+     * queries whose vacancies answer them.
+     */
+    public Set<SourceQuery> sourceQueries(List<VacancyRequest> vacancyRequests, List<Parser> parsers) {
+        Set<SourceQuery> queries = new LinkedHashSet<>();
+        for (Parser parser : parsers) {
+            for (VacancyRequest vacancyRequest : vacancyRequests) {
+                queries.add(new SourceQuery(parser.getSource(), parser.canonicalize(vacancyRequest)));
+            }
+        }
+        return queries;
+    }
+}
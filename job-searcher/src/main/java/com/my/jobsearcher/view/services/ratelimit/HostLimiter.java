@@ -0,0 +1,126 @@
+package com.my.jobsearcher.view.services.ratelimit;
+
+import com.my.jobsearcher.config.RateLimitProperties.HostLimits;
+import com.my.jobsearcher.store.dto.RateLimitStatusDto;
+
+/**
+ * Token bucket and AIMD concurrency limit of one host. A request may start once a token is
+ * available and fewer requests than the current limit are in flight.
+ */
+class HostLimiter {
+
+    // no release signal reaches a timer-driven waiter, so a full host is polled at this pace
+    private static final long SLOT_POLL_NANOS = 10_000_000;
+
+    private final String host;
+    private final HostLimits limits;
+    private double tokens;
+    private long lastRefillNanos;
+    private double concurrencyLimit;
+    private int inFlight;
+    private int waiting;
+    private long succeeded;
+    private long throttled;
+    private long failed;
+
+    HostLimiter(String host, HostLimits limits) {
+        this.host = host;
+        this.limits = limits;
+        this.tokens = limits.getBurst();
+        this.lastRefillNanos = System.nanoTime();
+        this.concurrencyLimit = limits.getInitialConcurrency();
+    }
+
+    synchronized void acquire() throws InterruptedException {
+        waiting++;
+        try {
+            while (true) {
+                refill();
+                boolean hasSlot = inFlight < (int) concurrencyLimit;
+                if (hasSlot && tokens >= 1) {
+                    tokens -= 1;
+                    inFlight++;
+                    return;
+                }
+                if (hasSlot) {
+                    wait(Math.max(1, (long) Math.ceil((1 - tokens) / limits.getRatePerSecond() * 1000)));
+                } else {
+                    // woken by release
+                    wait();
+                }
+            }
+        } finally {
+            waiting--;
+        }
+    }
+
+    /**
+     * Takes a permit only if one is available right now.
+     */
+    synchronized boolean tryAcquire() {
+        refill();
+        if (inFlight < (int) concurrencyLimit && tokens >= 1) {
+            tokens -= 1;
+            inFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Takes a permit if one is available right now and returns zero; otherwise returns how many
+     * nanoseconds to wait before trying again: until the next token when a slot is free, or a
+     * short poll while every slot is taken.
+     */
+    synchronized long tryAcquireOrDelay() {
+        if (tryAcquire()) {
+            return 0;
+        }
+        if (inFlight >= (int) concurrencyLimit) {
+            return SLOT_POLL_NANOS;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / limits.getRatePerSecond() * 1e9));
+    }
+
+    /**
+     * Additive increase: one more concurrent request per window of {@code limit} successes.
+     * Multiplicative decrease: the limit halves whenever the host throttles.
+     */
+    synchronized void release(Outcome outcome) {
+        inFlight--;
+        switch (outcome) {
+            case SUCCESS -> {
+                succeeded++;
+                concurrencyLimit = Math.min(limits.getMaxConcurrency(), concurrencyLimit + 1 / concurrencyLimit);
+            }
+            case THROTTLED -> {
+                throttled++;
+                concurrencyLimit = Math.max(limits.getMinConcurrency(), concurrencyLimit / 2);
+            }
+            case FAILED -> failed++;
+        }
+        notifyAll();
+    }
+
+    synchronized RateLimitStatusDto toDto() {
+        refill();
+        return RateLimitStatusDto.builder()
+                .host(host)
+                .ratePerSecond(limits.getRatePerSecond())
+                .burst(limits.getBurst())
+                .availableTokens(tokens)
+                .concurrencyLimit(concurrencyLimit)
+                .inFlight(inFlight)
+                .waiting(waiting)
+                .succeeded(succeeded)
+                .throttled(throttled)
+                .failed(failed)
+                .build();
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(limits.getBurst(), tokens + (now - lastRefillNanos) / 1e9 * limits.getRatePerSecond());
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,16 @@
+package com.my.jobsearcher.view.services.ratelimit;
+
+/**
+ * How a rate limited request ended, as far as the host's limits are concerned.
+ */
+public enum Outcome {
+    SUCCESS,
+    /**
+     * The host asked us to slow down (429, LinkedIn's 999).
+     */
+    THROTTLED,
+    /**
+     * Any other failure, timeouts included; it neither grows nor shrinks the concurrency limit.
+     */
+    FAILED
+}
@@ -0,0 +1,87 @@
+package com.my.jobsearcher.view.services.ratelimit;
+
+import com.my.jobsearcher.config.RateLimitProperties;
+import com.my.jobsearcher.store.dto.RateLimitStatusDto;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Per-host limits applied to every upstream request, so parallel fetching never bursts
+ * beyond what a job board tolerates.
+ */
+@Component
+public class RateLimiter {
+
+    private final ConcurrentMap<String, HostLimiter> hosts = new ConcurrentHashMap<>();
+    private final RateLimitProperties properties;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Blocks until a request to the URL's host may start. Every acquired permit has to be handed
+     * back to {@link #release} with the outcome of the request.
+     */
+    public String acquire(String url) {
+        String host = URI.create(url).getHost();
+        try {
+            limiter(host).acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + host, e);
+        }
+        return host;
+    }
+
+    /**
+     * Like {@link #acquire}, but returns {@code null} instead of waiting when the host has no
+     * permit available right now.
+     */
+    public String tryAcquire(String url) {
+        String host = URI.create(url).getHost();
+        return limiter(host).tryAcquire() ? host : null;
+    }
+
+    /**
+     * Non-blocking {@link #acquire}: completes with the host once a request may start. In between
+     * it retries on a timer, so a throttled host holds no thread however many requests wait on it.
+     */
+    public Mono<String> acquireLater(String url) {
+        String host = URI.create(url).getHost();
+        HostLimiter limiter = limiter(host);
+        return Mono.defer(() -> {
+            long delay = limiter.tryAcquireOrDelay();
+            return delay == 0 ? Mono.just(host) : Mono.delay(Duration.ofNanos(delay)).then(Mono.<String>empty());
+        }).repeatWhenEmpty(Integer.MAX_VALUE, Function.identity());
+    }
+
+    public void release(String host, Outcome outcome) {
+        limiter(host).release(outcome);
+    }
+
+    /**
+     * Outcome of a response with the given status: 429 and LinkedIn's 999 mean "slow down".
+     */
+    public static Outcome outcomeOf(int statusCode) {
+        if (statusCode == 429 || statusCode == 999) {
+            return Outcome.THROTTLED;
+        }
+        return statusCode >= 400 ? Outcome.FAILED : Outcome.SUCCESS;
+    }
+
+    public List<RateLimitStatusDto> getStatus() {
+        return hosts.values().stream().map(HostLimiter::toDto).toList();
+    }
+
+    private HostLimiter limiter(String host) {
+        return hosts.computeIfAbsent(host, key -> new HostLimiter(key, properties.limitsFor(key)));
+    }
+}
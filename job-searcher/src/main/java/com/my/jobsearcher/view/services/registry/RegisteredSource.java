@@ -0,0 +1,58 @@
+package com.my.jobsearcher.view.services.registry;
+
+import com.my.jobsearcher.store.dto.SourceStatusDto;
+import com.my.jobsearcher.view.services.parsers.Parser;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * A parser together with the settings and executor the registry gave it.
+ */
+class RegisteredSource {
+
+    private final Parser parser;
+    private final int priority;
+    private final double weight;
+    private final ThreadPoolExecutor executor;
+    private volatile boolean enabled;
+
+    RegisteredSource(Parser parser, int priority, double weight, ThreadPoolExecutor executor, boolean enabled) {
+        this.parser = parser;
+        this.priority = priority;
+        this.weight = weight;
+        this.executor = executor;
+        this.enabled = enabled;
+    }
+
+    Parser parser() {
+        return parser;
+    }
+
+    int priority() {
+        return priority;
+    }
+
+    ThreadPoolExecutor executor() {
+        return executor;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    SourceStatusDto toDto() {
+        return SourceStatusDto.builder()
+                .source(parser.getSource())
+                .enabled(enabled)
+                .priority(priority)
+                .weight(weight)
+                .threads(executor.getMaximumPoolSize())
+                .activeLoads(executor.getActiveCount())
+                .queuedLoads(executor.getQueue().size())
+                .build();
+    }
+}
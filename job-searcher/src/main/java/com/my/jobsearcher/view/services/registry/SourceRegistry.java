@@ -0,0 +1,91 @@
+package com.my.jobsearcher.view.services.registry;
+
+import com.my.jobsearcher.config.ResilienceProperties;
+import com.my.jobsearcher.config.SourceProperties;
+import com.my.jobsearcher.config.SourceProperties.SourceSettings;
+import com.my.jobsearcher.store.dto.SourceStatusDto;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.view.services.parsers.Parser;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link Parser} bean with its own bounded executor, priority and weight, and a switch to
+ * take the source out of searches and crawls at runtime.
+ */
+@Slf4j
+@Component
+public class SourceRegistry {
+
+    private final Map<Source, RegisteredSource> sources = new EnumMap<>(Source.class);
+
+    public SourceRegistry(List<Parser> parsers, SourceProperties properties, ResilienceProperties resilience) {
+        for (Parser parser : parsers) {
+            Source source = parser.getSource();
+            SourceSettings settings = properties.settingsFor(source);
+            int threads = resilience.getThreads().containsKey(source)
+                    ? resilience.threadsFor(source)
+                    : Math.max(1, (int) Math.round(resilience.getDefaultThreads() * settings.getWeight()));
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(resilience.getQueueCapacity()),
+                    new CustomizableThreadFactory(source.name().toLowerCase() + "-"));
+            sources.put(source, new RegisteredSource(parser, settings.getPriority(), settings.getWeight(),
+                    executor, settings.isEnabled()));
+        }
+        log.info("Registered sources: {}", sources.values().stream().map(RegisteredSource::toDto).toList());
+    }
+
+    /**
+     * Parsers of the enabled sources among {@code requested}, or of every enabled source when
+     * {@code requested} is {@code null} or empty, highest priority first.
+     */
+    public List<Parser> parsers(Collection<Source> requested) {
+        return sources.values().stream()
+                .filter(RegisteredSource::isEnabled)
+                .filter(source -> requested == null || requested.isEmpty()
+                        || requested.contains(source.parser().getSource()))
+                .sorted(Comparator.comparingInt(RegisteredSource::priority).reversed())
+                .map(RegisteredSource::parser)
+                .toList();
+    }
+
+    /**
+     * The bulkhead the source's loads run on, so a slow source can only exhaust its own threads.
+     */
+    public ThreadPoolExecutor executor(Source source) {
+        return registered(source).executor();
+    }
+
+    public void setEnabled(Source source, boolean enabled) {
+        registered(source).setEnabled(enabled);
+        log.info("{} {}", source, enabled ? "enabled" : "disabled");
+    }
+
+    public List<SourceStatusDto> getStatus() {
+        return sources.values().stream().map(RegisteredSource::toDto).toList();
+    }
+
+    @PreDestroy
+    public void close() {
+        sources.values().forEach(source -> source.executor().shutdownNow());
+    }
+
+    private RegisteredSource registered(Source source) {
+        RegisteredSource registered = sources.get(source);
+        if (registered == null) {
+            throw new IllegalArgumentException("No parser registered for " + source);
+        }
+        return registered;
+    }
+}
@@ -0,0 +1,119 @@
+package com.my.jobsearcher.view.services.resilience;
+
+import com.my.jobsearcher.config.ResilienceProperties;
+import com.my.jobsearcher.store.enums.Source;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Count-based circuit breaker of one source. It opens once the failure or slow-call rate over
+ * the last {@code window-size} calls reaches its threshold, rejects calls for
+ * {@code open-duration}, then lets {@code half-open-calls} trial calls decide whether to close.
+ */
+@Slf4j
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final Source source;
+    private final ResilienceProperties properties;
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int recorded;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialCalls;
+    private int trialSuccesses;
+
+    CircuitBreaker(Source source, ResilienceProperties properties) {
+        this.source = source;
+        this.properties = properties;
+        this.failed = new boolean[properties.getWindowSize()];
+        this.slow = new boolean[properties.getWindowSize()];
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < properties.getOpenDuration().toNanos()) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+            trialCalls = 0;
+            trialSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialCalls >= properties.getHalfOpenCalls()) {
+                return false;
+            }
+            trialCalls++;
+        }
+        return true;
+    }
+
+    /**
+     * Hands back a permit whose call was never made.
+     */
+    synchronized void cancel() {
+        if (state == State.HALF_OPEN) {
+            trialCalls--;
+        }
+    }
+
+    synchronized void onResult(boolean callFailed, long elapsedNanos) {
+        boolean callSlow = elapsedNanos > properties.getSlowCallDuration().toNanos();
+        switch (state) {
+            case HALF_OPEN -> {
+                if (callFailed || callSlow) {
+                    open();
+                } else if (++trialSuccesses >= properties.getHalfOpenCalls()) {
+                    reset();
+                }
+            }
+            case CLOSED -> {
+                failed[next] = callFailed;
+                slow[next] = callSlow;
+                next = (next + 1) % failed.length;
+                recorded = Math.min(recorded + 1, failed.length);
+                if (recorded >= properties.getMinimumCalls()
+                        && (rate(failed) >= properties.getFailureRateThreshold()
+                        || rate(slow) >= properties.getSlowCallRateThreshold())) {
+                    open();
+                }
+            }
+            // calls started before the breaker opened do not count
+            case OPEN -> { }
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private double rate(boolean[] outcomes) {
+        int count = 0;
+        for (int i = 0; i < recorded; i++) {
+            if (outcomes[i]) {
+                count++;
+            }
+        }
+        return (double) count / recorded;
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        transition(State.OPEN);
+    }
+
+    private void reset() {
+        next = 0;
+        recorded = 0;
+        transition(State.CLOSED);
+    }
+
+    private void transition(State newState) {
+        if (state != newState) {
+            log.warn("{} circuit {} -> {}", source, state, newState);
+            state = newState;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.my.jobsearcher.view.services.resilience;
+
+import com.my.jobsearcher.config.ResilienceProperties;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.view.services.registry.SourceRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Isolates the sources from each other. Every source loads on its own bounded pool from the
+ * {@link SourceRegistry}, so a slow source can only exhaust its own threads, and behind its own circuit breaker, so a failing
+ * source is left alone for a while instead of being called on every request.
+ */
+@Component
+public class SourceGuard {
+
+    private final Map<Source, CircuitBreaker> breakers = new EnumMap<>(Source.class);
+    private final SourceRegistry sourceRegistry;
+
+    public SourceGuard(ResilienceProperties properties, SourceRegistry sourceRegistry) {
+        this.sourceRegistry = sourceRegistry;
+        for (Source source : Source.values()) {
+            breakers.put(source, new CircuitBreaker(source, properties));
+        }
+    }
+
+    /**
+     * Runs the call on the source's bulkhead. The future fails with
+     * {@link SourceUnavailableException} right away when the circuit is open or the bulkhead is full.
+     */
+    public <T> CompletableFuture<T> submit(Source source, Supplier<T> call) {
+        CircuitBreaker breaker = breakers.get(source);
+        if (!breaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new SourceUnavailableException(source + " circuit is open"));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long started = System.nanoTime();
+                try {
+                    T result = call.get();
+                    breaker.onResult(false, System.nanoTime() - started);
+                    return result;
+                } catch (RuntimeException | Error e) {
+                    breaker.onResult(true, System.nanoTime() - started);
+                    throw e;
+                }
+            }, sourceRegistry.executor(source));
+        } catch (RejectedExecutionException e) {
+            breaker.cancel();
+            return CompletableFuture.failedFuture(new SourceUnavailableException(source + " bulkhead is full"));
+        }
+    }
+
+    /**
+     * Reactive counterpart of {@link #submit}: the circuit breaker is applied, the bulkhead is not,
+     * since non-blocking calls hold no thread to isolate.
+     */
+    public <T> Mono<T> guard(Source source, Mono<T> call) {
+        return Mono.defer(() -> {
+            CircuitBreaker breaker = breakers.get(source);
+            if (!breaker.tryAcquire()) {
+                return Mono.error(new SourceUnavailableException(source + " circuit is open"));
+            }
+            long started = System.nanoTime();
+            return call
+                    .doOnSuccess(result -> breaker.onResult(false, System.nanoTime() - started))
+                    .doOnError(e -> breaker.onResult(true, System.nanoTime() - started))
+                    .doOnCancel(breaker::cancel);
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.my.jobsearcher.view.services.resilience;
+
+/**
+ * A call to a source was not made because its circuit is open or its bulkhead is full.
+ */
+public class SourceUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SourceUnavailableException(String message) {
+        super(message);
+    }
+}
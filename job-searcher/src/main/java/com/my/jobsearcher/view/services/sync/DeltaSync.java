@@ -0,0 +1,142 @@
+package com.my.jobsearcher.view.services.sync;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.my.jobsearcher.config.SyncProperties;
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.dto.VacancyDeltaDto;
+import com.my.jobsearcher.store.index.Hashing;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Change feed over search results. Each result handed to a client is remembered as a snapshot of
+ * its ids and content hashes under a cursor; a later call with that cursor gets only what was
+ * added, changed or removed since. Cursors are derived from the filters and the snapshot, so
+ * clients seeing the same result share one snapshot, and an unchanged result keeps its cursor.
+ * <p>
+ * A streamed result holds the first posting of each near-duplicate cluster, while a collapsed
+ * result holds the cluster's representative, which may be another posting. A card that lists a
+ * remembered id among its {@link ResponseDto#getSourceUrls() source URLs} is sent as replacing it,
+ * rather than as one vacancy added and another removed.
+ */
+@Component
+public class DeltaSync {
+
+    private final Cache<String, Snapshot> snapshots;
+
+    public DeltaSync(SyncProperties properties) {
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumCursors())
+                .expireAfterAccess(properties.getCursorTtl())
+                .build();
+    }
+
+    /**
+     * Remembers the result the client now holds for the given filters and returns its cursor.
+     */
+    public String remember(String filters, Collection<ResponseDto> vacancies) {
+        Map<Long, Long> contentHashes = new HashMap<>();
+        vacancies.forEach(vacancy -> contentHashes.put(vacancy.getId(), vacancy.contentHash()));
+        return remember(new Snapshot(filters, contentHashes));
+    }
+
+    /**
+     * Changes from the snapshot behind {@code cursor} to {@code current}. An unknown or expired
+     * cursor, or one taken with other filters, yields a reset holding every current vacancy.
+     */
+    public VacancyDeltaDto delta(String filters, String cursor, Collection<ResponseDto> current) {
+        Snapshot known = cursor == null ? null : snapshots.getIfPresent(cursor);
+        if (known != null && !known.filters().equals(filters)) {
+            known = null;
+        }
+
+        Map<Long, Long> contentHashes = new HashMap<>();
+        List<ResponseDto> added = new ArrayList<>();
+        List<ResponseDto> changed = new ArrayList<>();
+        for (ResponseDto vacancy : current) {
+            long contentHash = vacancy.contentHash();
+            contentHashes.put(vacancy.getId(), contentHash);
+            Long previous = known == null ? null : known.contentHashes().get(vacancy.getId());
+            if (previous == null) {
+                added.add(vacancy);
+            } else if (previous != contentHash) {
+                changed.add(vacancy);
+            }
+        }
+        Map<String, ResponseDto> replaced = new LinkedHashMap<>();
+        List<String> removed = new ArrayList<>();
+        if (known != null) {
+            Set<Long> gone = new HashSet<>(known.contentHashes().keySet());
+            gone.removeAll(contentHashes.keySet());
+            for (Iterator<ResponseDto> vacancies = added.iterator(); vacancies.hasNext(); ) {
+                ResponseDto vacancy = vacancies.next();
+                Long previousId = replacedId(vacancy, gone);
+                if (previousId != null) {
+                    gone.remove(previousId);
+                    replaced.put(Long.toString(previousId), vacancy);
+                    vacancies.remove();
+                }
+            }
+            gone.forEach(id -> removed.add(Long.toString(id)));
+        }
+
+        return VacancyDeltaDto.builder()
+                .cursor(remember(new Snapshot(filters, contentHashes)))
+                .reset(known == null)
+                .added(added)
+                .changed(changed)
+                .replaced(replaced)
+                .removed(removed)
+                .build();
+    }
+
+    /**
+     * The id, among those gone from the result, of another posting collapsed into the vacancy.
+     */
+    private static Long replacedId(ResponseDto vacancy, Set<Long> gone) {
+        if (vacancy.getSourceUrls() == null) {
+            return null;
+        }
+        for (String url : vacancy.getSourceUrls()) {
+            long id = ResponseDto.idOf(url, vacancy.getJobTitle(), vacancy.getCompany());
+            if (id != vacancy.getId() && gone.contains(id)) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    private String remember(Snapshot snapshot) {
+        String cursor = snapshot.cursor();
+        // an existing equal snapshot is kept and counts as used
+        snapshots.get(cursor, key -> snapshot);
+        return cursor;
+    }
+
+    /**
+     * @param contentHashes content hash of every vacancy of the result, by id
+     */
+    private record Snapshot(String filters, Map<Long, Long> contentHashes) {
+
+        /**
+         * Hash of the filters and every (id, content hash) pair, independent of their order.
+         */
+        String cursor() {
+            long pairs = 0;
+            for (Map.Entry<Long, Long> entry : contentHashes.entrySet()) {
+                pairs += Hashing.hash64(entry.getKey() + ":" + entry.getValue());
+            }
+            return Long.toHexString(Hashing.hash64(filters + "|" + contentHashes.size() + "|" + pairs));
+        }
+    }
+}
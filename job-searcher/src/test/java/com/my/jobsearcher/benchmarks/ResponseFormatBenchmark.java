@@ -0,0 +1,109 @@
+package com.my.jobsearcher.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.my.jobsearcher.store.dto.ResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of a vacancies response in each format the vacancies endpoint
+ * negotiates. Payload sizes are printed once per format at setup.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.my.jobsearcher.benchmarks.ResponseFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    private static final String[] COMPANIES = {"EPAM", "SoftServe", "GlobalLogic", "Ciklum", "Luxoft",
+            "Grammarly", "MacPaw", "Genesis", "Intellias", "N-iX"};
+    private static final String[] TITLES = {"Java Developer", "Senior Python Engineer", "Middle Frontend Developer",
+            "QA Automation Engineer", "DevOps Engineer", "Junior C# Developer"};
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"300"})
+    private int vacancies;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private List<ResponseDto> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build());
+            default -> new ObjectMapper();
+        };
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, ResponseDto.class);
+        response = response(vacancies);
+        encoded = mapper.writeValueAsBytes(response);
+        System.out.printf("%n%s payload: %d bytes for %d vacancies%n", format, encoded.length, vacancies);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public List<ResponseDto> decode() throws IOException {
+        return mapper.readValue(encoded, listType);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ResponseFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static List<ResponseDto> response(int size) {
+        Random random = new Random(42);
+        List<ResponseDto> response = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String company = COMPANIES[random.nextInt(COMPANIES.length)];
+            StringBuilder description = new StringBuilder();
+            while (description.length() < 400) {
+                description.append("We are looking for an engineer to build and run our services. ");
+            }
+            response.add(ResponseDto.builder()
+                    .jobTitle(TITLES[random.nextInt(TITLES.length)])
+                    .url("https://djinni.co/jobs/" + (100_000 + i) + "-developer/")
+                    .company(company)
+                    .description(description.toString())
+                    .companyImage("https://p.djinni.co/logos/" + company.toLowerCase() + ".png")
+                    .build());
+        }
+        return response;
+    }
+}
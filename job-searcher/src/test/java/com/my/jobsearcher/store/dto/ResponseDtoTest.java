@@ -0,0 +1,68 @@
+package com.my.jobsearcher.store.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseDtoTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void cardsWithTheSameUrlAreTheSameVacancy() {
+        ResponseDto first = card("Java Developer", "https://jobs.example/1", "Acme", "first");
+        ResponseDto second = card("Java Engineer", "https://jobs.example/1", "Acme", "second");
+
+        assertEquals(first, second);
+        assertEquals(first.getId(), second.getId());
+        assertFalse(first.sameContent(second));
+        assertNotEquals(first.contentHash(), second.contentHash());
+    }
+
+    @Test
+    void cardsWithoutUrlAreIdentifiedByTitleAndCompany() {
+        assertEquals(card("Java Developer", "", "Acme", "a"), card("Java Developer", null, "Acme", "b"));
+        assertNotEquals(card("Java Developer", "", "Acme", "a"), card("Java Developer", "", "Other", "a"));
+    }
+
+    @Test
+    void readingKeepsTheIdOfTheCardWritten() throws Exception {
+        ResponseDto written = ResponseDto.builder()
+                .jobTitle("Java Developer")
+                .url("")
+                .company("Acme")
+                .description("description")
+                .sourceUrls(List.of("https://a.example/1", "https://b.example/2"))
+                .build();
+
+        String json = objectMapper.writeValueAsString(written);
+        ResponseDto read = objectMapper.readValue(json, ResponseDto.class);
+
+        assertTrue(json.contains("\"id\":\"" + written.getId() + "\""));
+        assertEquals(written.getId(), read.getId());
+        assertTrue(written.sameContent(read));
+    }
+
+    @Test
+    void idSentByTheClientIsIgnored() throws Exception {
+        ResponseDto read = objectMapper.readValue(
+                "{\"id\":\"42\",\"jobTitle\":\"Java Developer\",\"url\":\"https://jobs.example/1\"}", ResponseDto.class);
+
+        assertEquals(card("Java Developer", "https://jobs.example/1", null, null).getId(), read.getId());
+    }
+
+    private static ResponseDto card(String title, String url, String company, String description) {
+        return ResponseDto.builder()
+                .jobTitle(title)
+                .url(url)
+                .company(company)
+                .description(description)
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.my.jobsearcher.store.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void returnsDocumentsHoldingEveryTermInAscendingOrder() {
+        // documents are added in id order, as VacancyIndex numbers them
+        index.add(1, List.of("java", "spring"));
+        index.add(2, List.of("java"));
+        index.add(3, List.of("kafka", "spring", "java"));
+
+        assertArrayEquals(new int[]{1, 2, 3}, index.search(List.of("java")));
+        assertArrayEquals(new int[]{1, 3}, index.search(List.of("java", "spring")));
+        assertArrayEquals(new int[]{3}, index.search(List.of("kafka", "java", "spring")));
+    }
+
+    @Test
+    void unknownTermOrNoTermsMatchNothing() {
+        index.add(1, List.of("java"));
+
+        assertArrayEquals(new int[0], index.search(List.of("java", "rust")));
+        assertArrayEquals(new int[0], index.search(List.of()));
+    }
+
+    @Test
+    void repeatedTermsOfADocumentCountOnce() {
+        index.add(1, List.of("java", "java"));
+
+        assertArrayEquals(new int[]{1}, index.search(List.of("java")));
+    }
+}
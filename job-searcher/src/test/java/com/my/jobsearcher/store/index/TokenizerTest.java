@@ -0,0 +1,42 @@
+package com.my.jobsearcher.store.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenizerTest {
+
+    @Test
+    void splitsOnPunctuationAndLowerCases() {
+        assertEquals(List.of("senior", "java", "developer", "kyiv"), Tokenizer.tokenize("Senior Java Developer (Kyiv)"));
+    }
+
+    @Test
+    void keepsLanguageNames() {
+        assertEquals(List.of("c++", "c#", ".net", "node.js"), Tokenizer.tokenize("C++, C#; .NET / Node.js"));
+    }
+
+    @Test
+    void dropsApostrophesInsideWords() {
+        assertEquals(Tokenizer.tokenize("мякий"), Tokenizer.tokenize("м'який"));
+        assertEquals(Tokenizer.tokenize("мякий"), Tokenizer.tokenize("м’який"));
+    }
+
+    @Test
+    void keepsCyrillicAndDigits() {
+        assertEquals(List.of("розробник", "java", "17"), Tokenizer.tokenize("Розробник Java 17!"));
+    }
+
+    @Test
+    void sentenceEndIsNotPartOfTheWord() {
+        assertEquals(List.of("spring", "kafka"), Tokenizer.tokenize("Spring. Kafka"));
+    }
+
+    @Test
+    void nullOrEmptyGivesNoTokens() {
+        assertEquals(List.of(), Tokenizer.tokenize(null));
+        assertEquals(List.of(), Tokenizer.tokenize(""));
+    }
+}
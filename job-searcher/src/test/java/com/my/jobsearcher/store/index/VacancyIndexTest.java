@@ -0,0 +1,139 @@
+package com.my.jobsearcher.store.index;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.entities.SourceQuery;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.enums.Employment;
+import com.my.jobsearcher.store.enums.Experience;
+import com.my.jobsearcher.store.enums.Language;
+import com.my.jobsearcher.store.enums.Source;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VacancyIndexTest {
+
+    @Test
+    void matcherFiltersCardsThatWereNeverIndexed() {
+        ResponseDto kafka = card(1, "Java developer", "Kafka streams");
+        ResponseDto spring = card(2, "Java developer", "Spring Boot");
+
+        assertTrue(VacancyIndex.matcher("kafka java").test(kafka));
+        assertFalse(VacancyIndex.matcher("kafka java").test(spring));
+        assertEquals(List.of(), index.search("kafka"));
+    }
+
+    private static final SourceQuery JAVA_JUNIOR = query(Language.JAVA, Experience.JUNIOR);
+    private static final SourceQuery JAVA_SENIOR = query(Language.JAVA, Experience.SENIOR);
+    private static final SourceQuery PYTHON_SENIOR = query(Language.PYTHON, Experience.SENIOR);
+
+    private final VacancyIndex index = new VacancyIndex();
+
+    @Test
+    void matchesOnlyTheQueriesACardWasReturnedFor() {
+        ResponseDto card = card(1, "Backend developer", "polyglot team");
+        index.index(JAVA_JUNIOR, List.of(card));
+        index.index(PYTHON_SENIOR, List.of(card));
+
+        assertEquals(List.of(card), index.query(List.of(JAVA_JUNIOR), null));
+        assertEquals(List.of(card), index.query(List.of(PYTHON_SENIOR), null));
+        assertEquals(List.of(), index.query(List.of(JAVA_SENIOR), null));
+    }
+
+    @Test
+    void cardsAQueryNoLongerReturnsAreDropped() {
+        ResponseDto kept = card(1, "Java developer", "spring");
+        ResponseDto closed = card(2, "Java architect", "kafka");
+        index.index(JAVA_JUNIOR, List.of(kept, closed));
+
+        index.index(JAVA_JUNIOR, List.of(kept));
+
+        assertEquals(List.of(kept), index.query(List.of(JAVA_JUNIOR), null));
+        assertEquals(List.of(), index.search("kafka"));
+    }
+
+    @Test
+    void cardsStayWhileAnotherQueryStillReturnsThem() {
+        ResponseDto card = card(1, "Java developer", "spring");
+        index.index(JAVA_JUNIOR, List.of(card));
+        index.index(JAVA_SENIOR, List.of(card));
+
+        index.index(JAVA_JUNIOR, List.of());
+
+        assertEquals(List.of(card), index.query(List.of(JAVA_SENIOR), null));
+        assertEquals(List.of(card), index.search("spring"));
+    }
+
+    @Test
+    void changedContentReplacesTheCardForEveryQuery() {
+        index.index(JAVA_JUNIOR, List.of(card(1, "Java developer", "spring")));
+        index.index(JAVA_SENIOR, List.of(card(1, "Java developer", "spring")));
+
+        ResponseDto changed = card(1, "Java developer", "quarkus");
+        index.index(JAVA_JUNIOR, List.of(changed));
+
+        List<ResponseDto> senior = index.query(List.of(JAVA_SENIOR), null);
+        assertEquals(1, senior.size());
+        assertTrue(senior.get(0).sameContent(changed));
+        assertEquals(List.of(), index.search("spring"));
+        assertEquals(List.of(changed), index.search("quarkus"));
+    }
+
+    @Test
+    void queryTermsNarrowTheFilteredCards() {
+        ResponseDto spring = card(1, "Java developer", "spring boot");
+        ResponseDto quarkus = card(2, "Java developer", "quarkus");
+        index.index(JAVA_JUNIOR, List.of(spring, quarkus));
+        index.index(PYTHON_SENIOR, List.of(card(3, "Python developer", "spring cleaning")));
+
+        assertEquals(List.of(spring), index.query(List.of(JAVA_JUNIOR), "Spring"));
+        assertEquals(2, index.query(List.of(JAVA_JUNIOR, PYTHON_SENIOR), "spring").size());
+    }
+
+    @Test
+    void documentIdsStayBoundedUnderChurn() {
+        for (int round = 0; round < 100; round++) {
+            List<ResponseDto> cards = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                cards.add(card(i, "Java developer " + i, "revision " + round));
+            }
+            index.index(JAVA_JUNIOR, cards);
+        }
+
+        assertEquals(10, index.query(List.of(JAVA_JUNIOR), null).size());
+        assertTrue(index.documentIds() <= 20, "document ids in use: " + index.documentIds());
+        assertEquals(10, index.search("revision 99").size());
+    }
+
+    @Test
+    void versionAdvancesOnlyOnChange() {
+        List<ResponseDto> cards = List.of(card(1, "Java developer", "spring"));
+        index.index(JAVA_JUNIOR, cards);
+        long version = index.version();
+
+        index.index(JAVA_JUNIOR, List.of(card(1, "Java developer", "spring")));
+        assertEquals(version, index.version());
+
+        index.index(JAVA_JUNIOR, List.of());
+        assertNotEquals(version, index.version());
+    }
+
+    private static SourceQuery query(Language language, Experience experience) {
+        return new SourceQuery(Source.DJINNI, new VacancyRequest(language, experience, Employment.BOTH));
+    }
+
+    private static ResponseDto card(int n, String title, String description) {
+        return ResponseDto.builder()
+                .jobTitle(title)
+                .url("https://jobs.example/" + n)
+                .company("Acme")
+                .description(description)
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.my.jobsearcher.store.repositories;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.jobsearcher.config.StoreProperties;
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.entities.SourceQuery;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.enums.Employment;
+import com.my.jobsearcher.store.enums.Experience;
+import com.my.jobsearcher.store.enums.Language;
+import com.my.jobsearcher.store.enums.Source;
+import com.my.jobsearcher.store.segments.SegmentStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VacancyStoreTest {
+
+    private static final SourceQuery JAVA = query(Language.JAVA);
+    private static final SourceQuery KOTLIN = query(Language.KOTLIN);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void vacanciesNoSnapshotListsAnymoreAreDeleted() throws IOException {
+        VacancyStore store = open();
+        store.put(JAVA, List.of(card(1), card(2), card(3)));
+        store.put(JAVA, List.of(card(1)));
+        store.close();
+
+        store = open();
+        assertEquals(1, store.storedVacancies());
+        assertEquals(List.of(card(1)), store.get(JAVA).orElseThrow().vacancies());
+        store.close();
+    }
+
+    @Test
+    void sharedVacancyStaysWhileAnotherSnapshotListsIt() throws IOException {
+        VacancyStore store = open();
+        store.put(JAVA, List.of(card(1), card(2)));
+        store.put(KOTLIN, List.of(card(2)));
+        store.put(JAVA, List.of(card(1)));
+        store.close();
+
+        store = open();
+        assertEquals(List.of(card(2)), store.get(KOTLIN).orElseThrow().vacancies());
+        store.put(KOTLIN, List.of());
+        store.close();
+
+        store = open();
+        assertEquals(1, store.storedVacancies());
+        store.close();
+    }
+
+    @Test
+    void vacancyListedAgainRightAfterExpiringIsKept() throws IOException {
+        VacancyStore store = open();
+        store.put(JAVA, List.of(card(1)));
+        store.put(JAVA, List.of());
+        store.put(KOTLIN, List.of(card(1)));
+        store.close();
+
+        store = open();
+        assertEquals(List.of(card(1)), store.get(KOTLIN).orElseThrow().vacancies());
+        store.close();
+    }
+
+    @Test
+    void unreferencedVacanciesOnDiskAreDeletedOnStartup() throws IOException {
+        try (SegmentStore segments = new SegmentStore(directory, DataSize.ofKilobytes(64).toBytes(), 16)) {
+            segments.put("v:" + Long.toHexString(card(7).getId()), "{}".getBytes(StandardCharsets.UTF_8)).join();
+        }
+
+        open().close();
+
+        VacancyStore store = open();
+        assertEquals(0, store.storedVacancies());
+        store.close();
+    }
+
+    @Test
+    void expiredPostingsAreReclaimedByCompaction() throws IOException {
+        VacancyStore store = open();
+        for (int round = 0; round < 50; round++) {
+            List<ResponseDto> cards = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                cards.add(card(round * 10 + i));
+            }
+            store.put(JAVA, cards);
+        }
+        store.close();
+
+        store = open();
+        int segmentsBefore = segmentFiles();
+        assertEquals(10, store.storedVacancies());
+        store.compact();
+        store.close();
+
+        store = open();
+        assertEquals(10, store.storedVacancies());
+        assertEquals(10, store.get(JAVA).orElseThrow().vacancies().size());
+        assertTrue(segmentFiles() < segmentsBefore / 4, segmentFiles() + " of " + segmentsBefore + " segments left");
+        store.close();
+    }
+
+    private int segmentFiles() {
+        return directory.toFile().list().length;
+    }
+
+    private VacancyStore open() throws IOException {
+        StoreProperties properties = new StoreProperties();
+        properties.setDirectory(directory);
+        properties.setSegmentSize(DataSize.ofKilobytes(4));
+        properties.setMaxBatch(16);
+        properties.setCompactionThreshold(0.5);
+        return new VacancyStore(properties, new ObjectMapper());
+    }
+
+    private static ResponseDto card(int n) {
+        return ResponseDto.builder()
+                .jobTitle("Java developer " + n)
+                .url("https://jobs.example/" + n)
+                .company("Acme")
+                .description("Spring, Kafka")
+                .build();
+    }
+
+    private static SourceQuery query(Language language) {
+        return new SourceQuery(Source.DOU, new VacancyRequest(language, Experience.ALL, Employment.BOTH));
+    }
+}
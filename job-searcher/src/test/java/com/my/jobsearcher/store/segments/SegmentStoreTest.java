@@ -0,0 +1,140 @@
+package com.my.jobsearcher.store.segments;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentStoreTest {
+
+    private static final long SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversWritesAndDeletionsAfterReopen() throws IOException {
+        try (SegmentStore store = open()) {
+            store.put("a", bytes("1")).join();
+            store.put("b", bytes("2")).join();
+            store.put("a", bytes("3")).join();
+            store.delete("b").join();
+        }
+        try (SegmentStore store = open()) {
+            assertEquals("3", string(store.get("a")));
+            assertNull(store.get("b"));
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void stopsRecoveryAtATornRecord() throws IOException {
+        try (SegmentStore store = open()) {
+            store.put("a", bytes("1")).join();
+            store.put("b", bytes("2")).join();
+        }
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        // flip a byte of the second record's value so that its checksum no longer matches
+        byte[] content = Files.readAllBytes(segment);
+        int second = 12 + 1 + 1;
+        content[second + 12 + 1] ^= 1;
+        Files.write(segment, content, StandardOpenOption.TRUNCATE_EXISTING);
+
+        try (SegmentStore store = open()) {
+            assertEquals("1", string(store.get("a")));
+            assertFalse(store.contains("b"));
+        }
+    }
+
+    @Test
+    void compactionKeepsLiveRecordsAndDropsSegments() throws IOException {
+        try (SegmentStore store = open()) {
+            for (int i = 0; i < 40; i++) {
+                store.put("key-" + (i % 4), bytes("value-" + i)).join();
+            }
+            int before = store.segmentCount();
+            assertTrue(before > 2);
+
+            assertTrue(store.compact(0.5) > 0);
+            assertTrue(store.segmentCount() < before);
+            for (int i = 0; i < 4; i++) {
+                assertEquals("value-" + (36 + i), string(store.get("key-" + i)));
+            }
+        }
+        try (SegmentStore store = open()) {
+            for (int i = 0; i < 4; i++) {
+                assertEquals("value-" + (36 + i), string(store.get("key-" + i)));
+            }
+        }
+    }
+
+    @Test
+    void putAfterCompactionSurvivesReopen() throws IOException {
+        try (SegmentStore store = open()) {
+            store.put("k", bytes("old")).join();
+            fill(store);
+            store.compact(1.0);
+            store.put("k", bytes("new")).join();
+        }
+        try (SegmentStore store = open()) {
+            assertEquals("new", string(store.get("k")));
+        }
+    }
+
+    @Test
+    void compactionMoveQueuedBehindANewerPutIsDropped() throws IOException {
+        try (SegmentStore store = open()) {
+            store.put("k", bytes("old")).join();
+            store.put("dead", bytes("1")).join();
+            store.put("dead", bytes("2")).join();
+            fill(store);
+
+            // keep the writer busy so that the put below is still queued when compaction scans "k"
+            List<SegmentStore.Entry> batch = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                batch.add(new SegmentStore.Entry("batch-" + i, bytes("x".repeat(20))));
+            }
+            CompletableFuture<Void> busy = store.write(batch);
+            CompletableFuture<Void> newer = store.put("k", bytes("new"));
+            store.compact(1.0);
+            CompletableFuture.allOf(busy, newer).join();
+            assertEquals("new", string(store.get("k")));
+        }
+        try (SegmentStore store = open()) {
+            assertEquals("new", string(store.get("k")));
+        }
+    }
+
+    private SegmentStore open() throws IOException {
+        return new SegmentStore(directory, SEGMENT_SIZE, 16);
+    }
+
+    private static void fill(SegmentStore store) {
+        for (int i = 0; i < 20; i++) {
+            store.write(List.of(new SegmentStore.Entry("filler-" + i, bytes("x".repeat(20))))).join();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+}
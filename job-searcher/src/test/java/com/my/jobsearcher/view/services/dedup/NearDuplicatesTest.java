@@ -0,0 +1,71 @@
+package com.my.jobsearcher.view.services.dedup;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearDuplicatesTest {
+
+    private static final String DESCRIPTION = "We are looking for a Java developer to build payment services "
+            + "with Spring Boot, Kafka and PostgreSQL in a product team";
+
+    @Test
+    void samePostingOnTwoBoardsIsClose() {
+        ResponseDto dou = card("https://jobs.dou.ua/1", "Senior Java Developer", "Acme", DESCRIPTION);
+        ResponseDto djinni = card("https://djinni.co/1", "Senior Java developer", "ACME", DESCRIPTION + ".");
+
+        assertEquals(0, SimHash.distance(SimHash.fingerprint(dou), SimHash.fingerprint(djinni)));
+    }
+
+    @Test
+    void unrelatedPostingsAreFarApart() {
+        ResponseDto java = card("https://jobs.dou.ua/1", "Senior Java Developer", "Acme", DESCRIPTION);
+        ResponseDto designer = card("https://jobs.dou.ua/2", "Product designer", "Globex",
+                "Figma, user research and design systems for a mobile banking app");
+
+        assertTrue(SimHash.distance(SimHash.fingerprint(java), SimHash.fingerprint(designer)) > 6);
+    }
+
+    @Test
+    void nearDuplicatesCollapseIntoTheRichestPosting() {
+        ResponseDto dou = card("https://jobs.dou.ua/1", "Senior Java Developer", "Acme", "");
+        ResponseDto djinni = card("https://djinni.co/1", "Senior Java Developer", "Acme", "Remote only");
+        ResponseDto other = card("https://jobs.dou.ua/2", "Product designer", "Globex", "");
+        NearDuplicates nearDuplicates = new NearDuplicates(6);
+
+        assertEquals(List.of(dou, other), nearDuplicates.add(List.of(dou, other)));
+        assertEquals(List.of(), nearDuplicates.add(List.of(djinni, dou)));
+
+        List<ResponseDto> collapsed = nearDuplicates.collapsed();
+        assertEquals(2, collapsed.size());
+        assertEquals("https://djinni.co/1", collapsed.get(0).getUrl());
+        assertEquals("Remote only", collapsed.get(0).getDescription());
+        assertEquals(List.of("https://jobs.dou.ua/1", "https://djinni.co/1"), collapsed.get(0).getSourceUrls());
+        assertEquals(other, collapsed.get(1));
+        assertNull(collapsed.get(1).getSourceUrls());
+    }
+
+    @Test
+    void negativeDistanceCollapsesNothing() {
+        ResponseDto dou = card("https://jobs.dou.ua/1", "Senior Java Developer", "Acme", "");
+        ResponseDto djinni = card("https://djinni.co/1", "Senior Java Developer", "Acme", "");
+        NearDuplicates nearDuplicates = new NearDuplicates(-1);
+
+        assertEquals(List.of(dou, djinni), nearDuplicates.add(List.of(dou, djinni)));
+        assertEquals(List.of(dou, djinni), nearDuplicates.collapsed());
+    }
+
+    private static ResponseDto card(String url, String title, String company, String description) {
+        return ResponseDto.builder()
+                .url(url)
+                .jobTitle(title)
+                .company(company)
+                .description(description)
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.my.jobsearcher.view.services.fetch;
+
+import com.my.jobsearcher.config.HttpProperties;
+import com.my.jobsearcher.config.PaginationProperties;
+import com.my.jobsearcher.view.services.parsers.PageRequest;
+import com.my.jobsearcher.view.services.parsers.Parser;
+import com.my.jobsearcher.view.services.parsers.impl.DouParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageFetcherTest {
+
+    private static final PageRequest PAGE = PageRequest.get("https://jobs.dou.ua/vacancies/?category=Java");
+
+    private final Parser parser = new DouParser();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final List<Map<String, String>> requests = Collections.synchronizedList(new ArrayList<>());
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private volatile TransportResponse response = response(200, "body", Map.of("ETag", "\"v1\""));
+
+    private final PageFetcher fetcher = new PageFetcher(executor, new HttpTransport(new HttpProperties(), List.of(), null, null) {
+        @Override
+        public TransportResponse send(Parser parser, PageRequest page, Map<String, String> headers) {
+            requests.add(headers);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response;
+        }
+    }, new PaginationProperties());
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentFetchesOfOnePageShareOneDownload() throws Exception {
+        release = new CountDownLatch(1);
+        CompletableFuture<FetchedPage> first = CompletableFuture.supplyAsync(() -> fetcher.fetch(parser, PAGE, null));
+        CompletableFuture<FetchedPage> second = CompletableFuture.supplyAsync(() -> fetcher.fetch(parser, PAGE, null));
+        while (requests.isEmpty()) {
+            Thread.sleep(5);
+        }
+        // give the second fetch time to join the download in flight
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals("body", first.get(5, TimeUnit.SECONDS).body());
+        assertEquals("body", second.get(5, TimeUnit.SECONDS).body());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void sendsValidatorsAndKeepsTheKnownVersionOnNotModified() {
+        PageVersion known = fetcher.fetch(parser, PAGE, null).version();
+        response = response(304, "", Map.of());
+
+        FetchedPage page = fetcher.fetch(parser, PAGE, known);
+
+        assertEquals(Map.of("If-None-Match", "\"v1\""), requests.get(1));
+        assertNull(page.body());
+        assertFalse(page.changed());
+        assertEquals(known, page.version());
+    }
+
+    @Test
+    void fullResponseWithTheSameBodyIsUnchanged() {
+        PageVersion known = fetcher.fetch(parser, PAGE, null).version();
+
+        assertFalse(fetcher.fetch(parser, PAGE, known).changed());
+        response = response(200, "new body", Map.of());
+        assertTrue(fetcher.fetch(parser, PAGE, known).changed());
+    }
+
+    @Test
+    void errorStatusFails() {
+        response = response(503, "", Map.of());
+
+        assertThrows(IllegalStateException.class, () -> fetcher.fetch(parser, PAGE, null));
+    }
+
+    private static TransportResponse response(int status, String body, Map<String, String> headers) {
+        Map<String, List<String>> values = new HashMap<>();
+        headers.forEach((name, value) -> values.put(name, List.of(value)));
+        return new TransportResponse(status, HttpHeaders.of(values, (name, value) -> true), body);
+    }
+}
@@ -0,0 +1,78 @@
+package com.my.jobsearcher.view.services.fetch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallsForOneKeyShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.execute("page", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "body";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> singleFlight.execute("page", () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        // give the second caller time to join the call in flight
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals("body", first.get(5, TimeUnit.SECONDS));
+        assertEquals("body", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void nothingIsKeptOnceTheCallCompletes() {
+        assertEquals("first", singleFlight.execute("page", () -> "first"));
+        assertEquals("second", singleFlight.execute("page", () -> "second"));
+    }
+
+    @Test
+    void waitersGetTheLoadersException() throws Exception {
+        IllegalStateException failure = new IllegalStateException("HTTP 503");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.execute("page", () -> {
+            loading.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Throwable> second = CompletableFuture.supplyAsync(() ->
+                assertThrows(IllegalStateException.class, () -> singleFlight.execute("page", () -> "other")));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertSame(failure, second.get(5, TimeUnit.SECONDS));
+        assertSame(failure, first.handle((value, e) -> e.getCause()).get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.my.jobsearcher.view.services.parsers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Saved result pages under {@code src/test/resources/pages}, trimmed down to the markup the parsers read
+ * plus some of the surrounding navigation, scripts and footer.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static String page(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/pages/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No fixture page " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
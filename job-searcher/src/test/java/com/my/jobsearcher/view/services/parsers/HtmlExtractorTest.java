@@ -0,0 +1,78 @@
+package com.my.jobsearcher.view.services.parsers;
+
+import com.my.jobsearcher.config.ExtractionProperties;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.enums.Employment;
+import com.my.jobsearcher.store.enums.Experience;
+import com.my.jobsearcher.store.enums.Language;
+import com.my.jobsearcher.view.services.parsers.impl.DjinniParser;
+import com.my.jobsearcher.view.services.parsers.impl.DouParser;
+import com.my.jobsearcher.view.services.parsers.impl.LinkedInParser;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HtmlExtractorTest {
+
+    private static final VacancyRequest JAVA = new VacancyRequest(Language.JAVA, Experience.ALL, Employment.BOTH);
+
+    private final HtmlExtractor extractor = new HtmlExtractor(new ExtractionProperties());
+
+    @Test
+    void djinniRegionsGiveTheSameCardsAndPagesAsTheWholePage() {
+        assertSameAsWholePage(new DjinniParser(), "djinni.html", "https://djinni.co/jobs/?primary_keyword=Java");
+    }
+
+    @Test
+    void douRegionsGiveTheSameCardsAndPagesAsTheWholePage() {
+        assertSameAsWholePage(new DouParser(), "dou.html", "https://jobs.dou.ua/vacancies/?search=Java&");
+    }
+
+    @Test
+    void linkedInRegionsGiveTheSameCardsAndPagesAsTheWholePage() {
+        assertSameAsWholePage(new LinkedInParser(), "linkedin.html",
+                "https://www.linkedin.com/jobs/search?keywords=Java&location=Ukraine");
+    }
+
+    @Test
+    void everythingOutsideTheRegionsIsDropped() {
+        Document document = extractor.firstPage(new DjinniParser(), Fixtures.page("djinni.html"), "https://djinni.co/jobs/");
+
+        assertTrue(document.select("script, header, footer").isEmpty());
+        assertNull(document.selectFirst("a.navbar-brand"));
+        assertEquals(2, document.body().childrenSize());
+    }
+
+    @Test
+    void pageIsParsedWholeWithoutRegionsOrStreaming() {
+        String html = Fixtures.page("dou.html");
+        ExtractionProperties properties = new ExtractionProperties();
+        properties.setStreaming(false);
+
+        Document unstreamed = new HtmlExtractor(properties).firstPage(new DouParser(), html, "https://jobs.dou.ua/");
+        Document withoutRegions = extractor.firstPage(new DjinniParser() {
+            @Override
+            public Regions regions() {
+                return Regions.NONE;
+            }
+        }, html, "https://jobs.dou.ua/");
+
+        assertFalse(unstreamed.select("div.footer").isEmpty());
+        assertFalse(withoutRegions.select("div.footer").isEmpty());
+    }
+
+    private void assertSameAsWholePage(Parser parser, String fixture, String fetchKey) {
+        String html = Fixtures.page(fixture);
+        Document extracted = extractor.firstPage(parser, html, fetchKey);
+        Document whole = Jsoup.parse(html, fetchKey);
+
+        assertFalse(parser.parse(extracted, JAVA).isEmpty());
+        assertEquals(parser.parse(whole, JAVA), parser.parse(extracted, JAVA));
+        assertEquals(parser.nextPages(fetchKey, whole, 10), parser.nextPages(fetchKey, extracted, 10));
+    }
+}
@@ -0,0 +1,42 @@
+package com.my.jobsearcher.view.services.parsers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UrlNormalizerTest {
+
+    @Test
+    void dropsTrackingParametersAndKeepsTheRestInOrder() {
+        assertEquals("https://jobs.dou.ua/companies/acme/vacancies/1/?page=2&lang=en",
+                UrlNormalizer.withoutTracking(
+                        "https://jobs.dou.ua/companies/acme/vacancies/1/?from=list_hot&page=2&utm_source=tg&lang=en"));
+    }
+
+    @Test
+    void dropsTheWholeQueryWhenOnlyTrackingIsLeft() {
+        assertEquals("https://djinni.co/jobs/1-java/",
+                UrlNormalizer.withoutTracking("https://djinni.co/jobs/1-java/?trackingId=abc&refId=x#apply"));
+    }
+
+    @Test
+    void lowerCasesSchemeAndHostAndDropsDefaultPorts() {
+        assertEquals("https://jobs.dou.ua/Vacancies", UrlNormalizer.withoutTracking("HTTPS://Jobs.DOU.ua:443/Vacancies"));
+        assertEquals("http://localhost:8080/", UrlNormalizer.withoutTracking("http://localhost:8080"));
+    }
+
+    @Test
+    void withoutQueryReplacesTheHost() {
+        assertEquals("https://www.linkedin.com/jobs/view/123",
+                UrlNormalizer.withoutQuery("https://ua.linkedin.com/jobs/view/123?refId=a&position=3", "www.linkedin.com"));
+        assertEquals("https://ua.linkedin.com/jobs/view/123",
+                UrlNormalizer.withoutQuery("https://ua.linkedin.com/jobs/view/123?refId=a", null));
+    }
+
+    @Test
+    void leavesWhatIsNotAnAbsoluteUrlAlone() {
+        assertEquals("/jobs/1", UrlNormalizer.withoutTracking("/jobs/1"));
+        assertEquals("not a url", UrlNormalizer.withoutTracking("not a url"));
+        assertEquals("", UrlNormalizer.withoutQuery("", null));
+    }
+}
@@ -0,0 +1,45 @@
+package com.my.jobsearcher.view.services.parsers.impl;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.enums.Employment;
+import com.my.jobsearcher.store.enums.Experience;
+import com.my.jobsearcher.store.enums.Language;
+import com.my.jobsearcher.view.services.parsers.Fixtures;
+import com.my.jobsearcher.view.services.parsers.PageRequest;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DjinniParserTest {
+
+    private static final String FETCH_KEY = "https://djinni.co/jobs/?primary_keyword=Java";
+
+    private final DjinniParser parser = new DjinniParser();
+    private final Document page = Jsoup.parse(Fixtures.page("djinni.html"), FETCH_KEY);
+
+    @Test
+    void readsCardsOfTheJobListAndSkipsCardsWithoutTitle() {
+        List<ResponseDto> vacancies = parser.parse(page, new VacancyRequest(Language.JAVA, Experience.ALL, Employment.BOTH));
+
+        assertEquals(2, vacancies.size());
+        ResponseDto first = vacancies.get(0);
+        assertEquals("Senior Java Developer", first.getJobTitle());
+        assertEquals("https://djinni.co/jobs/101-senior-java-developer/", first.getUrl());
+        assertEquals("Acme", first.getCompany());
+        assertEquals("Spring Boot, Kafka and PostgreSQL on AWS", first.getDescription());
+        assertEquals("https://p.djinni.co/acme.png", first.getCompanyImage());
+        assertEquals("", vacancies.get(1).getCompanyImage());
+    }
+
+    @Test
+    void nextPagesRunToTheLastPageOfThePaginationBar() {
+        assertEquals(List.of(PageRequest.get(FETCH_KEY + "&page=2"), PageRequest.get(FETCH_KEY + "&page=3")),
+                parser.nextPages(FETCH_KEY, page, 3));
+        assertEquals(6, parser.nextPages(FETCH_KEY, page, 10).size());
+    }
+}
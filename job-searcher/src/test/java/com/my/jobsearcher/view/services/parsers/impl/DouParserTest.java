@@ -0,0 +1,61 @@
+package com.my.jobsearcher.view.services.parsers.impl;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.enums.Employment;
+import com.my.jobsearcher.store.enums.Experience;
+import com.my.jobsearcher.store.enums.Language;
+import com.my.jobsearcher.view.services.parsers.Fixtures;
+import com.my.jobsearcher.view.services.parsers.PageRequest;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DouParserTest {
+
+    private static final String FETCH_KEY = "https://jobs.dou.ua/vacancies/?search=Java&";
+
+    private final DouParser parser = new DouParser();
+    private final Document page = Jsoup.parse(Fixtures.page("dou.html"), FETCH_KEY);
+
+    @Test
+    void readsCardsWithoutTheirTrackingQuery() {
+        List<ResponseDto> vacancies = parser.parse(page, request(Employment.BOTH));
+
+        assertEquals(2, vacancies.size());
+        ResponseDto first = vacancies.get(0);
+        assertEquals("Java Developer", first.getJobTitle());
+        assertEquals("https://jobs.dou.ua/companies/acme/vacancies/201/", first.getUrl());
+        assertEquals("Acme", first.getCompany());
+        assertEquals("Spring, Kafka, Kubernetes", first.getDescription());
+        assertEquals("https://s.dou.ua/acme.png", first.getCompanyImage());
+    }
+
+    @Test
+    void employmentIsFilteredByCity() {
+        assertEquals(List.of("Java Developer"), titles(parser.parse(page, request(Employment.REMOTE))));
+        assertEquals(List.of("Senior Java Engineer"), titles(parser.parse(page, request(Employment.OFFICE))));
+    }
+
+    @Test
+    void loadMorePagesFollowTheHeaderCount() {
+        List<PageRequest> pages = parser.nextPages(FETCH_KEY, page, 4);
+
+        assertEquals(3, pages.size());
+        assertEquals("https://jobs.dou.ua/vacancies/xhr-load/?search=Java&", pages.get(0).url());
+        assertEquals("20", pages.get(0).form().get("count"));
+        assertEquals("60", pages.get(1).form().get("count"));
+    }
+
+    private static VacancyRequest request(Employment employment) {
+        return new VacancyRequest(Language.JAVA, Experience.ALL, employment);
+    }
+
+    private static List<String> titles(List<ResponseDto> vacancies) {
+        return vacancies.stream().map(ResponseDto::getJobTitle).toList();
+    }
+}
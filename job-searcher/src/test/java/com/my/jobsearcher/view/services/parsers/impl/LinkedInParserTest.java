@@ -0,0 +1,65 @@
+package com.my.jobsearcher.view.services.parsers.impl;
+
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.entities.VacancyRequest;
+import com.my.jobsearcher.store.enums.Employment;
+import com.my.jobsearcher.store.enums.Experience;
+import com.my.jobsearcher.store.enums.Language;
+import com.my.jobsearcher.view.services.parsers.Fixtures;
+import com.my.jobsearcher.view.services.parsers.PageRequest;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LinkedInParserTest {
+
+    private static final String FETCH_KEY = "https://www.linkedin.com/jobs/search?keywords=Java&location=Ukraine";
+
+    private final LinkedInParser parser = new LinkedInParser();
+    private final Document page = Jsoup.parse(Fixtures.page("linkedin.html"), FETCH_KEY);
+
+    @Test
+    void readsCardsOfTheRequestedLanguage() {
+        List<ResponseDto> vacancies = parser.parse(page, request(Experience.ALL));
+
+        assertEquals(List.of("Java Developer", "Senior Java Engineer"), titles(vacancies));
+        ResponseDto first = vacancies.get(0);
+        assertEquals("https://www.linkedin.com/jobs/view/301", first.getUrl());
+        assertEquals("Acme", first.getCompany());
+        assertEquals("https://media.licdn.com/acme.png?e=1&v=beta", first.getCompanyImage());
+    }
+
+    @Test
+    void juniorSearchSkipsSeniorTitles() {
+        assertEquals(List.of("Java Developer"), titles(parser.parse(page, request(Experience.JUNIOR))));
+    }
+
+    @Test
+    void guestApiCardsAreReadWithoutTheList() {
+        Document guestPage = Jsoup.parse(page.selectFirst("ul.jobs-search__results-list").html(), FETCH_KEY);
+
+        assertEquals(2, parser.parse(guestPage, request(Experience.ALL)).size());
+    }
+
+    @Test
+    void laterPagesComeFromTheGuestApi() {
+        assertEquals(List.of(
+                        PageRequest.get("https://www.linkedin.com/jobs-guest/jobs/api/seeMoreJobPostings/search"
+                                + "?keywords=Java&location=Ukraine&start=25"),
+                        PageRequest.get("https://www.linkedin.com/jobs-guest/jobs/api/seeMoreJobPostings/search"
+                                + "?keywords=Java&location=Ukraine&start=50")),
+                parser.nextPages(FETCH_KEY, page, 10));
+    }
+
+    private static VacancyRequest request(Experience experience) {
+        return new VacancyRequest(Language.JAVA, experience, Employment.BOTH);
+    }
+
+    private static List<String> titles(List<ResponseDto> vacancies) {
+        return vacancies.stream().map(ResponseDto::getJobTitle).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.my.jobsearcher.view.services.ratelimit;
+
+import com.my.jobsearcher.config.RateLimitProperties.HostLimits;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HostLimiterTest {
+
+    @Test
+    void limitGrowsByOnePerWindowOfSuccessesUpToTheMaximum() {
+        HostLimiter limiter = new HostLimiter("jobs.dou.ua", limits(2, 1, 3));
+
+        succeed(limiter);
+        assertEquals(2.5, concurrencyLimit(limiter), 1e-9);
+        succeed(limiter);
+        assertEquals(2.9, concurrencyLimit(limiter), 1e-9);
+        for (int i = 0; i < 10; i++) {
+            succeed(limiter);
+        }
+        assertEquals(3, concurrencyLimit(limiter), 1e-9);
+    }
+
+    @Test
+    void limitHalvesOnThrottlingDownToTheMinimum() {
+        HostLimiter limiter = new HostLimiter("jobs.dou.ua", limits(8, 2, 8));
+
+        release(limiter, Outcome.THROTTLED);
+        assertEquals(4, concurrencyLimit(limiter), 1e-9);
+        release(limiter, Outcome.THROTTLED);
+        release(limiter, Outcome.THROTTLED);
+        assertEquals(2, concurrencyLimit(limiter), 1e-9);
+    }
+
+    @Test
+    void failuresLeaveTheLimitAlone() {
+        HostLimiter limiter = new HostLimiter("jobs.dou.ua", limits(2, 1, 8));
+
+        release(limiter, Outcome.FAILED);
+
+        assertEquals(2, concurrencyLimit(limiter), 1e-9);
+        assertEquals(1, limiter.toDto().getFailed());
+    }
+
+    @Test
+    void noMoreRequestsInFlightThanTheLimit() {
+        HostLimiter limiter = new HostLimiter("jobs.dou.ua", limits(2, 1, 8));
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(Outcome.SUCCESS);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void noRequestWithoutAToken() {
+        HostLimits limits = limits(8, 1, 8);
+        limits.setBurst(1);
+        limits.setRatePerSecond(0.001);
+        HostLimiter limiter = new HostLimiter("jobs.dou.ua", limits);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(Outcome.SUCCESS);
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void delayIsTheTimeToTheNextTokenOrAPollWhileSlotsAreTaken() {
+        HostLimits limits = limits(1, 1, 8);
+        limits.setBurst(1);
+        limits.setRatePerSecond(2);
+        HostLimiter limiter = new HostLimiter("jobs.dou.ua", limits);
+
+        assertEquals(0, limiter.tryAcquireOrDelay());
+        long pollDelay = limiter.tryAcquireOrDelay();
+        limiter.release(Outcome.FAILED);
+        long tokenDelay = limiter.tryAcquireOrDelay();
+
+        assertTrue(pollDelay > 0 && pollDelay < 100_000_000);
+        assertTrue(tokenDelay > 400_000_000 && tokenDelay <= 500_000_000);
+    }
+
+    private static HostLimits limits(int initial, int min, int max) {
+        HostLimits limits = new HostLimits();
+        limits.setRatePerSecond(1000);
+        limits.setBurst(1000);
+        limits.setInitialConcurrency(initial);
+        limits.setMinConcurrency(min);
+        limits.setMaxConcurrency(max);
+        return limits;
+    }
+
+    private static void succeed(HostLimiter limiter) {
+        release(limiter, Outcome.SUCCESS);
+    }
+
+    private static void release(HostLimiter limiter, Outcome outcome) {
+        assertTrue(limiter.tryAcquire());
+        limiter.release(outcome);
+    }
+
+    private static double concurrencyLimit(HostLimiter limiter) {
+        return limiter.toDto().getConcurrencyLimit();
+    }
+}
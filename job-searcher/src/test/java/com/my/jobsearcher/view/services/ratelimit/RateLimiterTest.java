@@ -0,0 +1,34 @@
+package com.my.jobsearcher.view.services.ratelimit;
+
+import com.my.jobsearcher.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class RateLimiterTest {
+
+    private static final String URL = "https://jobs.dou.ua/vacancies/?category=Java";
+
+    @Test
+    void acquireLaterCompletesOnceASlotIsReleased() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaults().setBurst(100);
+        properties.getDefaults().setRatePerSecond(100);
+        properties.getDefaults().setInitialConcurrency(1);
+        RateLimiter rateLimiter = new RateLimiter(properties);
+
+        assertEquals("jobs.dou.ua", rateLimiter.acquireLater(URL).block(Duration.ofSeconds(5)));
+        CompletableFuture<String> waiting = rateLimiter.acquireLater(URL).toFuture();
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+
+        rateLimiter.release("jobs.dou.ua", Outcome.SUCCESS);
+
+        assertEquals("jobs.dou.ua", waiting.get(5, TimeUnit.SECONDS));
+    }
+}
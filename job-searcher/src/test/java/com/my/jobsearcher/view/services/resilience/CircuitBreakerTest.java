@@ -0,0 +1,116 @@
+package com.my.jobsearcher.view.services.resilience;
+
+import com.my.jobsearcher.config.ResilienceProperties;
+import com.my.jobsearcher.store.enums.Source;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(10).toNanos();
+
+    @Test
+    void opensOnceTheFailureRateReachesTheThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(Source.DOU, properties(Duration.ofHours(1)));
+
+        call(breaker, false, FAST);
+        call(breaker, true, FAST);
+        call(breaker, false, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        call(breaker, true, FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void staysClosedBelowTheMinimumNumberOfCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(Source.DOU, properties(Duration.ofHours(1)));
+
+        call(breaker, true, FAST);
+        call(breaker, true, FAST);
+        call(breaker, true, FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(Source.DOU, properties(Duration.ofHours(1)));
+
+        for (int i = 0; i < 4; i++) {
+            call(breaker, false, i % 2 == 0 ? SLOW : FAST);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void trialCallsCloseTheCircuitAfterTheOpenDuration() {
+        CircuitBreaker breaker = openBreaker();
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        // only half-open-calls trials at a time
+        assertFalse(breaker.tryAcquire());
+        breaker.onResult(false, FAST);
+        breaker.onResult(false, FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedTrialCallReopensTheCircuit() {
+        CircuitBreaker breaker = openBreaker();
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onResult(true, FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void cancelledTrialHandsItsPermitBack() {
+        CircuitBreaker breaker = openBreaker();
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        breaker.cancel();
+
+        assertTrue(breaker.tryAcquire());
+    }
+
+    private static CircuitBreaker openBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(Source.DOU, properties(Duration.ZERO));
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true, FAST);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        return breaker;
+    }
+
+    private static void call(CircuitBreaker breaker, boolean failed, long elapsedNanos) {
+        assertTrue(breaker.tryAcquire());
+        breaker.onResult(failed, elapsedNanos);
+    }
+
+    private static ResilienceProperties properties(Duration openDuration) {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.setWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setSlowCallRateThreshold(0.5);
+        properties.setSlowCallDuration(Duration.ofSeconds(1));
+        properties.setOpenDuration(openDuration);
+        properties.setHalfOpenCalls(2);
+        return properties;
+    }
+}
@@ -0,0 +1,142 @@
+package com.my.jobsearcher.view.services.sync;
+
+import com.my.jobsearcher.config.DedupProperties;
+import com.my.jobsearcher.config.SyncProperties;
+import com.my.jobsearcher.store.dto.ResponseDto;
+import com.my.jobsearcher.store.dto.VacancyDeltaDto;
+import com.my.jobsearcher.view.services.dedup.Deduplicator;
+import com.my.jobsearcher.view.services.dedup.NearDuplicates;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeltaSyncTest {
+
+    private static final String FILTERS = "language=JAVA";
+
+    private final DeltaSync deltaSync = new DeltaSync(new SyncProperties());
+    private final Deduplicator deduplicator = new Deduplicator(new DedupProperties());
+
+    @Test
+    void unknownCursorResetsToTheWholeResult() {
+        ResponseDto card = card("https://dou.ua/1", "Java developer", "Acme", "spring");
+
+        VacancyDeltaDto delta = deltaSync.delta(FILTERS, "missing", List.of(card));
+
+        assertTrue(delta.isReset());
+        assertEquals(List.of(card), delta.getAdded());
+    }
+
+    @Test
+    void reportsAddedChangedAndRemovedVacancies() {
+        ResponseDto kept = card("https://dou.ua/1", "Java developer", "Acme", "spring");
+        ResponseDto edited = card("https://dou.ua/2", "Java architect", "Acme", "kafka");
+        ResponseDto closed = card("https://dou.ua/3", "Java lead", "Acme", "people");
+        String cursor = deltaSync.remember(FILTERS, List.of(kept, edited, closed));
+
+        ResponseDto newer = card("https://dou.ua/2", "Java architect", "Acme", "kafka, flink");
+        ResponseDto added = card("https://dou.ua/4", "Java intern", "Acme", "learning");
+        VacancyDeltaDto delta = deltaSync.delta(FILTERS, cursor, List.of(kept, newer, added));
+
+        assertFalse(delta.isReset());
+        assertEquals(List.of(added), delta.getAdded());
+        assertEquals(List.of(newer), delta.getChanged());
+        assertEquals(List.of(Long.toString(closed.getId())), delta.getRemoved());
+    }
+
+    @Test
+    void cursorOfOtherFiltersResets() {
+        ResponseDto card = card("https://dou.ua/1", "Java developer", "Acme", "spring");
+        String cursor = deltaSync.remember(FILTERS, List.of(card));
+
+        assertTrue(deltaSync.delta("language=PYTHON", cursor, List.of(card)).isReset());
+    }
+
+    @Test
+    void unchangedResultKeepsItsCursor() {
+        ResponseDto card = card("https://dou.ua/1", "Java developer", "Acme", "spring");
+        String cursor = deltaSync.remember(FILTERS, List.of(card));
+
+        VacancyDeltaDto delta = deltaSync.delta(FILTERS, cursor, List.of(card));
+
+        assertEquals(cursor, delta.getCursor());
+        assertTrue(delta.getAdded().isEmpty() && delta.getChanged().isEmpty() && delta.getRemoved().isEmpty());
+    }
+
+    @Test
+    void streamedNearDuplicateIsReplacedByTheCollapsedCard() {
+        // the same job on two boards, the second one with a description
+        ResponseDto dou = card("https://dou.ua/1", "Senior Java developer", "Acme", "");
+        ResponseDto djinni = card("https://djinni.co/1", "Senior Java developer", "Acme", "Remote only");
+
+        // streamed one source at a time, as /stream and /reactive do
+        NearDuplicates session = deduplicator.session();
+        List<ResponseDto> streamed = new ArrayList<>(session.add(List.of(dou)));
+        streamed.addAll(session.add(List.of(djinni)));
+        assertEquals(List.of(dou), streamed);
+        String cursor = deltaSync.remember(FILTERS, streamed);
+
+        List<ResponseDto> collapsed = deduplicator.collapse(List.of(dou, djinni));
+        VacancyDeltaDto delta = deltaSync.delta(FILTERS, cursor, collapsed);
+
+        assertFalse(delta.isReset());
+        assertTrue(delta.getAdded().isEmpty());
+        assertTrue(delta.getRemoved().isEmpty());
+        assertEquals(Map.of(Long.toString(dou.getId()), collapsed.get(0)), delta.getReplaced());
+        assertEquals(ids(collapsed), ids(apply(streamed, delta)));
+        assertEquals(delta.getCursor(), deltaSync.delta(FILTERS, delta.getCursor(), collapsed).getCursor());
+    }
+
+    @Test
+    void streamedRepresentativeOfNearDuplicatesIsChanged() {
+        ResponseDto dou = card("https://dou.ua/1", "Senior Java developer", "Acme", "Remote only");
+        ResponseDto djinni = card("https://djinni.co/1", "Senior Java developer", "Acme", "");
+
+        NearDuplicates session = deduplicator.session();
+        List<ResponseDto> streamed = new ArrayList<>(session.add(List.of(dou)));
+        streamed.addAll(session.add(List.of(djinni)));
+        String cursor = deltaSync.remember(FILTERS, streamed);
+
+        List<ResponseDto> collapsed = deduplicator.collapse(List.of(dou, djinni));
+        VacancyDeltaDto delta = deltaSync.delta(FILTERS, cursor, collapsed);
+
+        assertEquals(collapsed, delta.getChanged());
+        assertTrue(delta.getAdded().isEmpty() && delta.getReplaced().isEmpty() && delta.getRemoved().isEmpty());
+    }
+
+    /**
+     * The cards a client holding {@code held} has after applying the delta, as the web client does.
+     */
+    private static List<ResponseDto> apply(List<ResponseDto> held, VacancyDeltaDto delta) {
+        Map<String, ResponseDto> byId = new LinkedHashMap<>();
+        held.forEach(vacancy -> byId.put(Long.toString(vacancy.getId()), vacancy));
+        delta.getRemoved().forEach(byId::remove);
+        delta.getChanged().forEach(vacancy -> byId.put(Long.toString(vacancy.getId()), vacancy));
+        delta.getReplaced().forEach((id, vacancy) -> {
+            byId.remove(id);
+            byId.put(Long.toString(vacancy.getId()), vacancy);
+        });
+        delta.getAdded().forEach(vacancy -> byId.put(Long.toString(vacancy.getId()), vacancy));
+        return new ArrayList<>(byId.values());
+    }
+
+    private static List<Long> ids(List<ResponseDto> vacancies) {
+        return vacancies.stream().map(ResponseDto::getId).toList();
+    }
+
+    private static ResponseDto card(String url, String title, String company, String description) {
+        return ResponseDto.builder()
+                .url(url)
+                .jobTitle(title)
+                .company(company)
+                .description(description)
+                .build();
+    }
+}